@@ -2,8 +2,10 @@ package com.growloop.growloop_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GrowloopBackendApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(GrowloopBackendApplication.class, args);
@@ -0,0 +1,42 @@
+package com.growloop.growloop_backend.authentication;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// Resolves @CurrentUser UserPrincipal parameters through UserPrincipalCache from the session token verified by
+// SessionTokenFilter, falling back to the (unverified) Firebase-UID header for clients without a token
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String HEADER = "Firebase-UID";
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UserPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        Object session = webRequest.getAttribute(SessionTokenFilter.SESSION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        String firebaseUid = session instanceof SessionToken token ? token.firebaseUid() : null;
+        if (firebaseUid == null || firebaseUid.isBlank()) {
+            firebaseUid = webRequest.getHeader(HEADER);
+        }
+        if (firebaseUid == null || firebaseUid.isBlank()) {
+            throw new MissingRequestHeaderException(HEADER, parameter);
+        }
+        return userPrincipalCache.resolve(firebaseUid);
+    }
+}
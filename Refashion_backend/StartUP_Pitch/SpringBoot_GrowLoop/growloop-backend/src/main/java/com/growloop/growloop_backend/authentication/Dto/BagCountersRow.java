@@ -0,0 +1,18 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A bag's owner, status and persisted counters, without loading the entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BagCountersRow {
+    private Long bagId;
+    private Long ownerId;
+    private BagStatus status;
+    private Integer totalItems;
+    private Integer pointsAwarded;
+}
@@ -30,6 +30,17 @@ public class BagResponseDTO {
     private String purposeDisplayName;
 
     public static BagResponseDTO fromBag(Bag bag) {
+        return fromBag(bag, 0, 0);
+    }
+
+    // pendingItems / pendingPoints: counter deltas buffered by write-behind and not yet in the row
+    public static BagResponseDTO fromBag(Bag bag, int pendingItems, int pendingPoints) {
+        return fromBag(bag, bag.getUser().getUserName(), pendingItems, pendingPoints);
+    }
+
+    // For an owner that is only a reference (from the request principal), so the name doesn't load the row
+    public static BagResponseDTO fromBag(Bag bag, String creatorName, int pendingItems, int pendingPoints) {
+        int totalItems = bag.getTotalItems() + pendingItems;
         BagResponseDTO dto = new BagResponseDTO();
         dto.setBagId(bag.getBagId());
         dto.setBagName(bag.getBagName());
@@ -38,14 +49,14 @@ public class BagResponseDTO {
         dto.setStatus(bag.getStatus().name());
         dto.setStatusDisplayName(bag.getStatus().getDisplayName());
         dto.setCreatedAt(bag.getCreatedAt());
-        dto.setTotalItems(bag.getTotalItems());
-        dto.setPointsAwarded(bag.getPointsAwarded());
+        dto.setTotalItems(totalItems);
+        dto.setPointsAwarded(bag.getPointsAwarded() + pendingPoints);
         dto.setDeliveryCharge(bag.getDeliveryCharge());
         dto.setCanAcceptItems(bag.canAddItems());
-        dto.setEligibleForFreePickup(bag.isEligibleForFreePickup());
-        dto.setPickupCost(bag.getPickupCost());
-        dto.setPickupMessage(bag.getPickupEligibilityMessage());
-        dto.setCreatorName(bag.getUser().getUserName());
+        dto.setEligibleForFreePickup(bag.isEligibleForFreePickup(totalItems));
+        dto.setPickupCost(bag.getPickupCost(totalItems));
+        dto.setPickupMessage(bag.getPickupEligibilityMessage(totalItems));
+        dto.setCreatorName(creatorName);
         dto.setCreatorId(bag.getUser().getUserId());
         dto.setPurpose(bag.getPurpose().name());
         dto.setPurposeDisplayName(bag.getPurpose().getDisplayName());
@@ -0,0 +1,30 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Counts and totals over all of a user's bags, overall and split by status and by purpose
+@Data
+public class BagSummaryDTO {
+    private Totals total;
+    private Map<String, Totals> byStatus; // Keyed by BagStatus name; every status is present
+    private Map<String, Totals> byPurpose; // Keyed by BagPurpose name; every purpose is present
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private Long bags;
+        private Long items;
+        private Long points;
+
+        public void add(BagSummaryRow row) {
+            bags += row.getBags();
+            items += row.getItems();
+            points += row.getPoints();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One (status, purpose) group of a user's bags
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BagSummaryRow {
+    private BagStatus status;
+    private BagPurpose purpose;
+    private Long bags;
+    private Long items;
+    private Long points;
+}
@@ -0,0 +1,26 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchGradeRequest {
+
+    @NotEmpty(message = "At least one grade is required")
+    @Size(max = 200, message = "At most 200 items can be graded at once")
+    private List<@Valid Entry> grades;
+
+    @Data
+    public static class Entry {
+        @NotNull(message = "Item id is required")
+        private Long itemId;
+
+        @NotNull(message = "Update is required")
+        private ItemUpdateRequest update;
+    }
+}
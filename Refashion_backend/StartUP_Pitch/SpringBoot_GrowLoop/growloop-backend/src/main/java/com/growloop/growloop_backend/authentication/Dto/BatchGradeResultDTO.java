@@ -0,0 +1,24 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class BatchGradeResultDTO {
+    private Integer succeeded;
+    private Integer failed;
+    private List<ItemResult> results; // Same order as the request
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long itemId;
+        private Boolean success;
+        private String message;
+        private ItemResponseDTO item; // Null when the grade was not applied
+    }
+}
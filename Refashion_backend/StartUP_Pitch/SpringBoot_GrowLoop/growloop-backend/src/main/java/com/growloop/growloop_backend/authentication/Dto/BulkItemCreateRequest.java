@@ -0,0 +1,16 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkItemCreateRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "At most 100 items can be added at once")
+    private List<@Valid ItemCreateRequest> items;
+}
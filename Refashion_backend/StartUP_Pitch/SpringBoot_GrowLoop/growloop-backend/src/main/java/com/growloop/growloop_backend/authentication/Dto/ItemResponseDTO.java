@@ -28,12 +28,17 @@ public class ItemResponseDTO {
     private Boolean isReadyForListing;
 
     public static ItemResponseDTO fromItem(Item item) {
+        return fromItem(item, item.getContributor().getUserName());
+    }
+
+    // For a contributor that is only a reference (from the request principal), so the name doesn't load the row
+    public static ItemResponseDTO fromItem(Item item, String contributorName) {
         ItemResponseDTO dto = new ItemResponseDTO();
         dto.setItemId(item.getItemId());
         dto.setBagId(item.getBag() != null ? item.getBag().getBagId() : null);
         dto.setBagName(item.getBag() != null ? item.getBag().getBagName() : null);
         dto.setContributorId(item.getContributor().getUserId());
-        dto.setContributorName(item.getContributor().getUserName());
+        dto.setContributorName(contributorName);
         dto.setItemType(item.getItemType());
         dto.setConditionDescription(item.getConditionDescription());
         dto.setGender(item.getGender());
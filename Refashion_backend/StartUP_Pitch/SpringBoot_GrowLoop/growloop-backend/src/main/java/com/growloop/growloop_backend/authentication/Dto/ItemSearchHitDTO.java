@@ -0,0 +1,13 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSearchHitDTO {
+    private ItemResponseDTO item;
+    private Float score; // Relevance; hits come highest first
+}
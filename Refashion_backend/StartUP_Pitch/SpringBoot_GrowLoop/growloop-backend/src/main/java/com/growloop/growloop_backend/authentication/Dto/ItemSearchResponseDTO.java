@@ -0,0 +1,13 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ItemSearchResponseDTO {
+    private Long totalHits;
+    private List<ItemSearchHitDTO> hits;
+    private Map<String, Map<String, Long>> facets; // dimension -> value -> matching items, largest first
+}
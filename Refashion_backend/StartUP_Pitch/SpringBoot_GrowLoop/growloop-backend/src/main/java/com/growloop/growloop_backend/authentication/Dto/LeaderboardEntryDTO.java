@@ -0,0 +1,16 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+    // 1-based; null when the user has no points in the window
+    private Integer rank;
+    private Long userId;
+    private String userName;
+    private Long points;
+}
@@ -0,0 +1,40 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// One live update pushed to a user's event stream: the current values of whatever changed on a bag
+// they own and/or an item they contributed. Values are absolute, so a repeated update is harmless.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveUpdateDTO {
+    private BagDelta bag;
+    private ItemDelta item;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BagDelta {
+        private Long bagId;
+        private String status;
+        private Integer totalItems;
+        private Integer pointsAwarded;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemDelta {
+        private Long itemId;
+        private Long bagId;
+        private String grade;
+        private String status;
+        private BigDecimal loyaltyPoint;
+    }
+}
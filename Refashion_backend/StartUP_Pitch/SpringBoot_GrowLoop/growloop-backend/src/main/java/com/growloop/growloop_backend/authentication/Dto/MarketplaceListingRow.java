@@ -0,0 +1,26 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One listable item as loaded into the marketplace read model
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketplaceListingRow {
+    private Long itemId;
+    private Long bagId;
+    private String bagName;
+    private Long contributorId;
+    private String contributorName;
+    private String itemType;
+    private String conditionDescription;
+    private String gender;
+    private String ageGroup;
+    private BigDecimal loyaltyPoint;
+    private LocalDateTime addedAt;
+}
@@ -0,0 +1,12 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MarketplacePageDTO {
+    private List<ItemResponseDTO> items;
+    private String nextCursor; // Pass back as ?cursor= for the next page; null on the last page
+    private Boolean hasMore;
+}
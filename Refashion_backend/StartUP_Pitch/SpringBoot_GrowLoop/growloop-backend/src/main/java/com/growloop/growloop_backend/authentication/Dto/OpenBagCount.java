@@ -0,0 +1,15 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Item count of one OPEN bag, as loaded into the free-pickup eligibility tracker
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenBagCount {
+    private Long bagId;
+    private Long ownerId;
+    private Long totalItems;
+}
@@ -0,0 +1,15 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class PickupPlanDTO {
+    private LocalDateTime generatedAt;
+    private Integer plannedBags;
+    private Long unlocatedBags; // Awaiting pickup, but the owner has no coordinates
+    private Long planningMillis;
+    private List<PickupRouteDTO> routes;
+}
@@ -0,0 +1,16 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PickupRouteDTO {
+    private Integer routeNumber;
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Integer stopCount;
+    private Integer totalItems;
+    private Double distanceKm;
+    private List<PickupStop> stops; // In visiting order
+}
@@ -0,0 +1,17 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One AWAITING_PICKUP bag located at its owner's coordinates
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickupStop {
+    private Long bagId;
+    private Long userId;
+    private Double latitude;
+    private Double longitude;
+    private Integer totalItems;
+}
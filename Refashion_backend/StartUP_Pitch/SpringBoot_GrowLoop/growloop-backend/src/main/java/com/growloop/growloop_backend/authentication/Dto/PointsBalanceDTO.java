@@ -0,0 +1,14 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PointsBalanceDTO {
+    private Long userId;
+    private Long balance;
+    // Snapshot the balance was built from (null if the user has none yet) and how many entries came after it
+    private LocalDateTime snapshotCoveredUntil;
+    private Long entriesSinceSnapshot;
+}
@@ -0,0 +1,32 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import com.growloop.growloop_backend.entity.PointsLedgerEntry;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PointsLedgerEntryDTO {
+    private Long entryId;
+    private Integer amount;
+    // "earn" for credits, "spend" for debits
+    private String direction;
+    private String entryType;
+    private String entryTypeDisplayName;
+    private Long itemId;
+    private String description;
+    private LocalDateTime createdAt;
+
+    public static PointsLedgerEntryDTO fromEntry(PointsLedgerEntry entry) {
+        PointsLedgerEntryDTO dto = new PointsLedgerEntryDTO();
+        dto.setEntryId(entry.getEntryId());
+        dto.setAmount(entry.getAmount());
+        dto.setDirection(entry.getAmount() >= 0 ? "earn" : "spend");
+        dto.setEntryType(entry.getEntryType().name());
+        dto.setEntryTypeDisplayName(entry.getEntryType().getDisplayName());
+        dto.setItemId(entry.getItemId());
+        dto.setDescription(entry.getDescription());
+        dto.setCreatedAt(entry.getCreatedAt());
+        return dto;
+    }
+}
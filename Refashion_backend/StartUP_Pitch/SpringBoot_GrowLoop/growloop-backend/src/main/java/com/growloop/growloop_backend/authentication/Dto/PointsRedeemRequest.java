@@ -0,0 +1,16 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class PointsRedeemRequest {
+    @NotNull(message = "Points are required")
+    @Min(value = 1, message = "Points must be positive")
+    private Integer points;
+
+    @Size(max = 255, message = "Description cannot exceed 255 characters")
+    private String description;
+}
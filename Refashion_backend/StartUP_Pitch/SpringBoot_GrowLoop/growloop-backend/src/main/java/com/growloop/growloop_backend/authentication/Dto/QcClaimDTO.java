@@ -0,0 +1,14 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Items leased to one grader; complete or release each before leaseExpiresAt or it returns to the queue
+@Data
+public class QcClaimDTO {
+    private String workerId;
+    private LocalDateTime leaseExpiresAt;
+    private List<ItemResponseDTO> items;
+}
@@ -0,0 +1,14 @@
+package com.growloop.growloop_backend.authentication.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Net ledger amount for one user over a snapshot window
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPointsDelta {
+    private Long userId;
+    private Long amount;
+}
@@ -0,0 +1,16 @@
+package com.growloop.growloop_backend.authentication;
+
+import java.security.Principal;
+
+// Claims of a verified session token; exposed as the servlet request principal by SessionTokenFilter
+public record SessionToken(long userId, String firebaseUid, long expiresAtEpochSecond) implements Principal {
+
+    @Override
+    public String getName() {
+        return firebaseUid;
+    }
+
+    public boolean isExpired(long nowEpochSecond) {
+        return nowEpochSecond >= expiresAtEpochSecond;
+    }
+}
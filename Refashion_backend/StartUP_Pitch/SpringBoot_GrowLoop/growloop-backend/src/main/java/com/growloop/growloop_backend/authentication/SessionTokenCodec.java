@@ -0,0 +1,130 @@
+package com.growloop.growloop_backend.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// Stateless session tokens: base64url(payload) "." base64url(HMAC-SHA256(payload)), where the payload is
+// userId (8 bytes) | expiry epoch second (8 bytes) | firebase UID (UTF-8). Verifying needs only the key.
+// Tokens that already passed the signature check are kept in a small cache so hot clients skip the HMAC.
+public class SessionTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int FIXED_PAYLOAD_BYTES = 16;
+    private static final int SIGNATURE_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    // Mac instances aren't thread-safe and Mac.getInstance does a provider lookup; each signature clones
+    // this initialized prototype instead. A ThreadLocal would build a Mac per request on virtual threads.
+    private final Mac prototype;
+    private final Cache<String, SessionToken> verified;
+
+    // verifiedCacheSize 0 disables the cache
+    public SessionTokenCodec(byte[] secret, Duration ttl, long verifiedCacheSize) {
+        if (secret.length < SIGNATURE_BYTES) {
+            throw new IllegalArgumentException("Token secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.ttl = ttl;
+        this.prototype = newMac();
+        this.verified = verifiedCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(verifiedCacheSize).recordStats().build()
+                : null;
+    }
+
+    public String issue(long userId, String firebaseUid) {
+        byte[] uid = firebaseUid.getBytes(StandardCharsets.UTF_8);
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        byte[] payload = ByteBuffer.allocate(FIXED_PAYLOAD_BYTES + uid.length)
+                .putLong(userId)
+                .putLong(expiresAt)
+                .put(uid)
+                .array();
+        String encodedPayload = ENCODER.encodeToString(payload);
+        return encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload));
+    }
+
+    // Claims of a valid, unexpired token, or null for anything else
+    public SessionToken verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        long now = Instant.now().getEpochSecond();
+        SessionToken claims = verified != null ? verified.getIfPresent(token) : null;
+        if (claims == null) {
+            claims = verifySignature(token);
+            if (claims != null && verified != null) {
+                verified.put(token, claims);
+            }
+        }
+        if (claims == null || claims.isExpired(now)) {
+            return null;
+        }
+        return claims;
+    }
+
+    public Cache<String, SessionToken> verifiedCache() {
+        return verified;
+    }
+
+    private SessionToken verifySignature(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String encodedPayload = token.substring(0, dot);
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(encodedPayload);
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // MessageDigest.isEqual is constant-time, so the comparison doesn't leak how many bytes matched
+        if (payload.length <= FIXED_PAYLOAD_BYTES || !MessageDigest.isEqual(sign(encodedPayload), signature)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long userId = buffer.getLong();
+        long expiresAt = buffer.getLong();
+        String firebaseUid = new String(payload, FIXED_PAYLOAD_BYTES, payload.length - FIXED_PAYLOAD_BYTES,
+                StandardCharsets.UTF_8);
+        return new SessionToken(userId, firebaseUid, expiresAt);
+    }
+
+    private byte[] sign(String encodedPayload) {
+        return copyOfPrototype().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac copyOfPrototype() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            // Providers whose Mac can't be cloned fall back to a fresh instance
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.growloop.growloop_backend.authentication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+// Verifies "Authorization: Bearer <session token>" and exposes the claims as the request principal and
+// as the SESSION_ATTRIBUTE request attribute. Requests without a valid token pass through unchanged;
+// the endpoints that need one decide how to reject it.
+@Component
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    public static final String SESSION_ATTRIBUTE = "growloop.session";
+
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        SessionToken session = header != null && header.startsWith(BEARER)
+                ? sessionTokenService.verify(header.substring(BEARER.length()).trim())
+                : null;
+        if (session == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        request.setAttribute(SESSION_ATTRIBUTE, session);
+        chain.doFilter(new HttpServletRequestWrapper(request) {
+            @Override
+            public Principal getUserPrincipal() {
+                return session;
+            }
+        }, response);
+    }
+}
@@ -0,0 +1,59 @@
+package com.growloop.growloop_backend.authentication;
+
+import com.growloop.growloop_backend.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+// Issues and verifies the session tokens handed out by /api/auth/login and /signup
+@Slf4j
+@Service
+public class SessionTokenService {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Base64, at least 32 bytes decoded. Must be the same on every instance behind the load balancer.
+    @Value("${growloop.auth.token-secret:}")
+    private String tokenSecret;
+
+    @Value("${growloop.auth.token-ttl-ms:86400000}")
+    private long tokenTtlMs;
+
+    @Value("${growloop.auth.verified-cache.max-entries:10000}")
+    private long verifiedCacheSize;
+
+    private SessionTokenCodec codec;
+
+    @PostConstruct
+    public void init() {
+        byte[] secret;
+        if (tokenSecret == null || tokenSecret.isBlank()) {
+            log.warn("growloop.auth.token-secret is not set; using a random key, so tokens won't survive a restart");
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = Base64.getDecoder().decode(tokenSecret.trim());
+        }
+        codec = new SessionTokenCodec(secret, Duration.ofMillis(tokenTtlMs), verifiedCacheSize);
+        if (codec.verifiedCache() != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, codec.verifiedCache(), "auth.verified-tokens");
+        }
+    }
+
+    public String issue(User user) {
+        return codec.issue(user.getUserId(), user.getFirebaseUid());
+    }
+
+    public SessionToken verify(String token) {
+        return codec.verify(token);
+    }
+}
@@ -0,0 +1,9 @@
+package com.growloop.growloop_backend.authentication;
+
+// Firebase-UID header present, but no registered user has that UID
+public class UnknownUserException extends RuntimeException {
+
+    public UnknownUserException(String firebaseUid) {
+        super("User not found for Firebase UID " + firebaseUid);
+    }
+}
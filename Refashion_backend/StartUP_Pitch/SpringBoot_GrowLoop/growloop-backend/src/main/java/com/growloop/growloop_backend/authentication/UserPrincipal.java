@@ -0,0 +1,12 @@
+package com.growloop.growloop_backend.authentication;
+
+import com.growloop.growloop_backend.entity.User;
+
+// The caller of an authenticated request, resolved from the Firebase-UID header and cached.
+// Only identity fields live here; anything that can change besides the name is read from the users row.
+public record UserPrincipal(long userId, String firebaseUid, String userName, String email) {
+
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getUserId(), user.getFirebaseUid(), user.getUserName(), user.getEmail());
+    }
+}
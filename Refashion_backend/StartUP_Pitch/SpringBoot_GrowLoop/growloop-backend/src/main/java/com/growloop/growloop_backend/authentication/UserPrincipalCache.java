@@ -0,0 +1,80 @@
+package com.growloop.growloop_backend.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.growloop.growloop_backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Firebase UID -> UserPrincipal, so authenticated requests don't each start with a SELECT on users.
+// Bounded and expiring; unknown UIDs are not cached, so a user who registers is visible right away.
+@Service
+public class UserPrincipalCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.users.principal-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${growloop.users.principal-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private Cache<String, UserPrincipal> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.principal");
+    }
+
+    // Loaded outside the cache: Caffeine runs a get(key, loader) loader inside ConcurrentHashMap.compute, whose
+    // monitor would pin a virtual thread to its carrier for the whole query. Concurrent misses on one UID may
+    // each query, which is cheaper than serializing them.
+    public UserPrincipal resolve(String firebaseUid) {
+        UserPrincipal principal = cache.getIfPresent(firebaseUid);
+        if (principal == null) {
+            long seen = invalidations.get();
+            principal = userRepository.findByFirebaseUid(firebaseUid)
+                    .map(UserPrincipal::fromUser)
+                    .orElseThrow(() -> new UnknownUserException(firebaseUid));
+            // Skip the put if an invalidation ran meanwhile; the row read may predate it
+            if (invalidations.get() == seen) {
+                cache.put(firebaseUid, principal);
+            }
+        }
+        return principal;
+    }
+
+    // Drop now and again after commit, so a request racing the update can't re-cache the old row
+    public void invalidate(String firebaseUid) {
+        invalidations.incrementAndGet();
+        cache.invalidate(firebaseUid);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    cache.invalidate(firebaseUid);
+                }
+            });
+        }
+    }
+}
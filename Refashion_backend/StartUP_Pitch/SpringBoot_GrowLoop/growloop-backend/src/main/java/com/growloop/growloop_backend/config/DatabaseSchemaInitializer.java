@@ -0,0 +1,142 @@
+package com.growloop.growloop_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Schema pieces that ddl-auto=update cannot express (triggers, SPATIAL indexes, column changes) and one-off
+// data fixes that go with them
+@Slf4j
+@Component
+public class DatabaseSchemaInitializer implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            ensureRecyclerSpatialIndex();
+        } catch (Exception e) {
+            log.warn("Could not set up SPATIAL index on recyclers.location: {}", e.getMessage());
+        }
+        try {
+            ensureRecyclerUpdatedAtOnUpdate();
+        } catch (Exception e) {
+            log.warn("Could not add ON UPDATE to recyclers.updated_at: {}", e.getMessage());
+        }
+        try {
+            ensureItemBagNullable();
+        } catch (Exception e) {
+            log.warn("Could not make items.bag_id nullable: {}", e.getMessage());
+        }
+        try {
+            ensureSequenceAhead("items_seq", "items", "item_id");
+            ensureSequenceAhead("bags_seq", "bags", "bag_id");
+        } catch (Exception e) {
+            log.warn("Could not advance id sequences: {}", e.getMessage());
+        }
+        try {
+            backfillOnce("bag-points-per-item", this::recomputeBagPoints);
+        } catch (Exception e) {
+            log.warn("Could not recompute bags.points_awarded: {}", e.getMessage());
+        }
+    }
+
+    // Backfill recyclers.location, keep it in sync with latitude/longitude and index it
+    private void ensureRecyclerSpatialIndex() {
+        jdbcTemplate.update("UPDATE recyclers SET location = POINT(longitude, latitude) WHERE location IS NULL");
+
+        if (!triggerExists("trg_recyclers_location_insert")) {
+            jdbcTemplate.execute("CREATE TRIGGER trg_recyclers_location_insert BEFORE INSERT ON recyclers " +
+                    "FOR EACH ROW SET NEW.location = POINT(NEW.longitude, NEW.latitude)");
+        }
+        if (!triggerExists("trg_recyclers_location_update")) {
+            jdbcTemplate.execute("CREATE TRIGGER trg_recyclers_location_update BEFORE UPDATE ON recyclers " +
+                    "FOR EACH ROW SET NEW.location = POINT(NEW.longitude, NEW.latitude)");
+        }
+
+        // SPATIAL indexes require a NOT NULL column with an SRID attribute
+        if (!indexExists("recyclers", "idx_recyclers_location")) {
+            jdbcTemplate.execute("ALTER TABLE recyclers MODIFY location POINT NOT NULL SRID 0, " +
+                    "ADD SPATIAL INDEX idx_recyclers_location (location)");
+            log.info("Created SPATIAL index idx_recyclers_location");
+        }
+    }
+
+    // The in-memory recycler index refreshes by updated_at, so bump it for writes that bypass JPA too
+    private void ensureRecyclerUpdatedAtOnUpdate() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'recyclers' " +
+                        "AND column_name = 'updated_at' AND extra LIKE '%on update%'",
+                Integer.class);
+        if (count == null || count == 0) {
+            jdbcTemplate.execute("ALTER TABLE recyclers MODIFY updated_at DATETIME(6) NULL " +
+                    "DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)");
+        }
+    }
+
+    // Recycling items are stored without a bag; ddl-auto=update never relaxes an existing NOT NULL
+    private void ensureItemBagNullable() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'items' " +
+                        "AND column_name = 'bag_id' AND is_nullable = 'NO'",
+                Integer.class);
+        if (count != null && count > 0) {
+            jdbcTemplate.execute("ALTER TABLE items MODIFY bag_id BIGINT NULL");
+            log.info("Made items.bag_id nullable");
+        }
+    }
+
+    // Items and bags moved from AUTO_INCREMENT to pooled sequences (allocationSize 50). Hibernate hands
+    // out next_val-49 .. next_val per block, so keep next_val at least 51 past the highest existing id.
+    private void ensureSequenceAhead(String sequenceTable, String table, String idColumn) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, sequenceTable);
+        if (count == null || count == 0) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE " + sequenceTable + " SET next_val = " +
+                "GREATEST(next_val, (SELECT COALESCE(MAX(" + idColumn + "), 0) + 51 FROM " + table + "))");
+    }
+
+    // bags.points_awarded used to be the truncated SUM of its items' points; it is now kept as the sum of each
+    // item's whole points (ItemService.wholePoints), so bring older bags onto that rule before deltas build on it
+    private void recomputeBagPoints() {
+        int updated = jdbcTemplate.update("UPDATE bags b SET points_awarded = " +
+                "(SELECT COALESCE(SUM(TRUNCATE(i.loyalty_point, 0)), 0) FROM items i WHERE i.bag_id = b.bag_id)");
+        log.info("Recomputed points_awarded on {} bags", updated);
+    }
+
+    // Runs a data fix once per database: the first instance to record the name runs it. The marker is written
+    // first, so a fix that fails part-way is logged and not retried
+    private void backfillOnce(String name, Runnable backfill) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_backfills (name VARCHAR(100) NOT NULL PRIMARY KEY, " +
+                "applied_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6))");
+        if (jdbcTemplate.update("INSERT IGNORE INTO schema_backfills (name) VALUES (?)", name) == 1) {
+            backfill.run();
+        }
+    }
+
+    private boolean triggerExists(String triggerName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.triggers " +
+                        "WHERE trigger_schema = DATABASE() AND trigger_name = ?",
+                Integer.class, triggerName);
+        return count != null && count > 0;
+    }
+
+    private boolean indexExists(String tableName, String indexName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, tableName, indexName);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.growloop.growloop_backend.controller;
+
+import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
+import com.growloop.growloop_backend.authentication.UnknownUserException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Errors raised before a handler runs (argument resolution), so the handlers' own try/catch can't see them
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(UnknownUserException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUnknownUser(UnknownUserException e) {
+        return ResponseEntity.badRequest().body(
+                ApiResponse.error("User not found")
+        );
+    }
+}
@@ -3,8 +3,12 @@ package com.growloop.growloop_backend.controller;
 import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
 import com.growloop.growloop_backend.authentication.Dto.UserRegistrationRequest;
 import com.growloop.growloop_backend.authentication.Dto.UserResponseDTO;
+import com.growloop.growloop_backend.authentication.SessionToken;
+import com.growloop.growloop_backend.authentication.SessionTokenFilter;
+import com.growloop.growloop_backend.authentication.SessionTokenService;
 import com.growloop.growloop_backend.entity.User;
 import com.growloop.growloop_backend.repository.UserRepository;
+import com.growloop.growloop_backend.service.UserProfileCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +27,12 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
     // Simple login endpoint (no Firebase)
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<Map<String, Object>>> login(@RequestBody Map<String, String> credentials) {
@@ -55,7 +65,7 @@ public class AuthController {
 
             // Create response
             Map<String, Object> response = new HashMap<>();
-            response.put("token", "token-" + user.getUserId());
+            response.put("token", sessionTokenService.issue(user));
             response.put("user", convertToDTO(user));
 
             return ResponseEntity.ok(
@@ -96,7 +106,7 @@ public class AuthController {
 
             // Create response
             Map<String, Object> response = new HashMap<>();
-            response.put("token", "token-" + user.getUserId());
+            response.put("token", sessionTokenService.issue(user));
             response.put("user", convertToDTO(user));
 
             return ResponseEntity.ok(
@@ -109,20 +119,19 @@ public class AuthController {
         }
     }
 
-    // Get user profile by token
+    // Get user profile by token; SessionTokenFilter has already verified the signature and expiry
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse<UserResponseDTO>> getProfile(@RequestHeader("Authorization") String token) {
-        try {
-            // Extract user ID from token (format: "token-{userId}")
-            String userId = token.replace("Bearer ", "").replace("token-", "");
-            Long id = Long.parseLong(userId);
-
-            User user = userRepository.findById(id).orElseThrow(
-                () -> new RuntimeException("User not found")
+    public ResponseEntity<ApiResponse<UserResponseDTO>> getProfile(
+            @RequestAttribute(name = SessionTokenFilter.SESSION_ATTRIBUTE, required = false) SessionToken session) {
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+                ApiResponse.error("Missing, invalid or expired token")
             );
+        }
 
+        try {
             return ResponseEntity.ok(
-                ApiResponse.success(convertToDTO(user), "Profile retrieved successfully")
+                ApiResponse.success(userProfileCache.get(session.userId()), "Profile retrieved successfully")
             );
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
@@ -3,6 +3,9 @@ package com.growloop.growloop_backend.controller;
 import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
 import com.growloop.growloop_backend.authentication.Dto.BagCreateRequest;
 import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.BagSummaryDTO;
+import com.growloop.growloop_backend.authentication.CurrentUser;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
 import com.growloop.growloop_backend.enumHelpers.BagPurpose;
 import com.growloop.growloop_backend.service.BagService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,16 +19,18 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class BagController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private BagService bagService;
 
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<BagResponseDTO>> createBag(
             @Valid @RequestBody BagCreateRequest request,
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
 
         try {
-            BagResponseDTO bag = bagService.createBag(firebaseUid, request);
+            BagResponseDTO bag = bagService.createBag(principal, request);
             return ResponseEntity.ok(
                     ApiResponse.success(bag, "Bag created successfully")
             );
@@ -39,13 +44,44 @@ public class BagController {
     // Get user's bags
     @GetMapping("/my-bags")
     public ResponseEntity<ApiResponse<List<BagResponseDTO>>> getUserBags(
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            List<BagResponseDTO> bags = bagService.getUserBags(principal);
+            return ResponseEntity.ok(
+                    ApiResponse.success(bags, "Bags retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get bags: " + e.getMessage())
+            );
+        }
+    }
+
+    // Get user's bags page by page, newest first, optionally for one purpose
+    @GetMapping("/my-bags/page")
+    public ResponseEntity<ApiResponse<List<BagResponseDTO>>> getUserBagsPage(
+            @CurrentUser UserPrincipal principal,
+            @RequestParam(required = false) String purpose,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE)
+            );
+        }
 
         try {
-            List<BagResponseDTO> bags = bagService.getUserBags(firebaseUid);
+            BagPurpose bagPurpose = purpose != null ? BagPurpose.valueOf(purpose.toUpperCase()) : null;
+            List<BagResponseDTO> bags = bagService.getUserBagsPage(principal, bagPurpose, page, size);
             return ResponseEntity.ok(
                     ApiResponse.success(bags, "Bags retrieved successfully")
             );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Invalid bag purpose: " + purpose)
+            );
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                     ApiResponse.error("Failed to get bags: " + e.getMessage())
@@ -53,6 +89,38 @@ public class BagController {
         }
     }
 
+    // Bag counts, items and points per status and per purpose, for dashboards
+    @GetMapping("/my-bags/summary")
+    public ResponseEntity<ApiResponse<BagSummaryDTO>> getUserBagSummary(
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            BagSummaryDTO summary = bagService.getUserBagSummary(principal);
+            return ResponseEntity.ok(
+                    ApiResponse.success(summary, "Bag summary retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get bag summary: " + e.getMessage())
+            );
+        }
+    }
+
+    // OPEN bags that have reached the free-pickup threshold (ops dashboard)
+    @GetMapping("/eligible-for-free-pickup")
+    public ResponseEntity<ApiResponse<List<BagResponseDTO>>> getBagsEligibleForFreePickup() {
+        try {
+            List<BagResponseDTO> bags = bagService.getBagsEligibleForFreePickup();
+            return ResponseEntity.ok(
+                    ApiResponse.success(bags, bags.size() + " bags eligible for free pickup")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get eligible bags: " + e.getMessage())
+            );
+        }
+    }
+
     // Get bag by ID
     @GetMapping("/{bagId}")
     public ResponseEntity<ApiResponse<BagResponseDTO>> getBagById(
@@ -88,10 +156,10 @@ public class BagController {
     @PostMapping("/{bagId}/schedule-pickup")
     public ResponseEntity<ApiResponse<BagResponseDTO>> schedulePickup(
             @PathVariable Long bagId,
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
 
         try {
-            BagResponseDTO bag = bagService.schedulePickup(bagId, firebaseUid);
+            BagResponseDTO bag = bagService.schedulePickup(bagId, principal);
             return ResponseEntity.ok(
                     ApiResponse.success(bag, "Pickup scheduled successfully")
             );
@@ -105,11 +173,11 @@ public class BagController {
     @GetMapping("/my-bags/{purpose}")
     public ResponseEntity<ApiResponse<List<BagResponseDTO>>> getUserBagsByPurpose(
             @PathVariable String purpose,
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
 
         try {
             BagPurpose bagPurpose = BagPurpose.valueOf(purpose.toUpperCase());
-            List<BagResponseDTO> bags = bagService.getUserBagsByPurpose(firebaseUid, bagPurpose);
+            List<BagResponseDTO> bags = bagService.getUserBagsByPurpose(principal, bagPurpose);
             return ResponseEntity.ok(
                     ApiResponse.success(bags, "Bags retrieved successfully")
             );
@@ -1,11 +1,20 @@
 package com.growloop.growloop_backend.controller;
 
 import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
+import com.growloop.growloop_backend.authentication.Dto.BatchGradeRequest;
+import com.growloop.growloop_backend.authentication.Dto.BatchGradeResultDTO;
+import com.growloop.growloop_backend.authentication.Dto.BulkItemCreateRequest;
 import com.growloop.growloop_backend.authentication.Dto.ItemCreateRequest;
 import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemSearchResponseDTO;
 import com.growloop.growloop_backend.authentication.Dto.ItemUpdateRequest;
+import com.growloop.growloop_backend.authentication.Dto.MarketplacePageDTO;
+import com.growloop.growloop_backend.authentication.CurrentUser;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
 import com.growloop.growloop_backend.service.ItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
@@ -17,6 +26,9 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ItemController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_WINDOW = 1000;
+
     @Autowired
     private ItemService itemService;
 
@@ -25,10 +37,10 @@ public class ItemController {
     public ResponseEntity<ApiResponse<ItemResponseDTO>> addItemToBag(
             @PathVariable Long bagId,
             @Valid @RequestBody ItemCreateRequest request,
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
 
         try {
-            ItemResponseDTO item = itemService.addItemToBag(bagId, firebaseUid, request);
+            ItemResponseDTO item = itemService.addItemToBag(bagId, principal, request);
             return ResponseEntity.ok(
                     ApiResponse.success(item, "Item added to bag successfully")
             );
@@ -39,14 +51,33 @@ public class ItemController {
         }
     }
 
+    // Add many items to a bag in one call (drop-off events)
+    @PostMapping("/bags/{bagId}/bulk")
+    public ResponseEntity<ApiResponse<List<ItemResponseDTO>>> addItemsToBag(
+            @PathVariable Long bagId,
+            @Valid @RequestBody BulkItemCreateRequest request,
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            List<ItemResponseDTO> items = itemService.addItemsToBag(bagId, principal, request.getItems());
+            return ResponseEntity.ok(
+                    ApiResponse.success(items, items.size() + " items added to bag successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to add items: " + e.getMessage())
+            );
+        }
+    }
+
     // Add item for direct recycling (no bag)
     @PostMapping("/recycle")
     public ResponseEntity<ApiResponse<ItemResponseDTO>> addItemForRecycling(
             @Valid @RequestBody ItemCreateRequest request,
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
 
         try {
-            ItemResponseDTO item = itemService.addItemForRecycling(firebaseUid, request);
+            ItemResponseDTO item = itemService.addItemForRecycling(principal, request);
             return ResponseEntity.ok(
                     ApiResponse.success(item, "Item added for recycling successfully")
             );
@@ -77,10 +108,10 @@ public class ItemController {
     // Get user's items (across all bags)
     @GetMapping("/my-items")
     public ResponseEntity<ApiResponse<List<ItemResponseDTO>>> getUserItems(
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
 
         try {
-            List<ItemResponseDTO> items = itemService.getUserItems(firebaseUid);
+            List<ItemResponseDTO> items = itemService.getUserItems(principal);
             return ResponseEntity.ok(
                     ApiResponse.success(items, "Items retrieved successfully")
             );
@@ -91,13 +122,27 @@ public class ItemController {
         }
     }
 
-    // Get user's recycling items
+    // Get user's recycling items; the full list unless page or size is given (then size defaults to 50)
     @GetMapping("/my-recycling")
     public ResponseEntity<ApiResponse<List<ItemResponseDTO>>> getUserRecyclingItems(
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+
+        Pageable pageable = Pageable.unpaged();
+        if (page != null || size != null) {
+            int pageNumber = page != null ? page : 0;
+            int pageSize = size != null ? size : 50;
+            if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(
+                        ApiResponse.error("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE)
+                );
+            }
+            pageable = PageRequest.of(pageNumber, pageSize);
+        }
 
         try {
-            List<ItemResponseDTO> items = itemService.getUserRecyclingItems(firebaseUid);
+            List<ItemResponseDTO> items = itemService.getUserRecyclingItems(principal, pageable);
             return ResponseEntity.ok(
                     ApiResponse.success(items, "Recycling items retrieved successfully")
             );
@@ -108,15 +153,15 @@ public class ItemController {
         }
     }
 
-    // Update item (for QC team - internal use)
+    // Update item (for QC team - internal use). Refused while another grader holds the item's work-queue lease
     @PutMapping("/{itemId}/qc")
     public ResponseEntity<ApiResponse<ItemResponseDTO>> updateItem(
             @PathVariable Long itemId,
             @Valid @RequestBody ItemUpdateRequest request,
-            @RequestHeader("Firebase-UID") String firebaseUid) {
+            @CurrentUser UserPrincipal principal) {
 
         try {
-            ItemResponseDTO item = itemService.updateItem(itemId, request);
+            ItemResponseDTO item = itemService.gradeItem(itemId, principal.firebaseUid(), request);
             return ResponseEntity.ok(
                     ApiResponse.success(item, "Item updated successfully")
             );
@@ -127,6 +172,24 @@ public class ItemController {
         }
     }
 
+    // Grade many items at once (for QC team - internal use); failures are reported per item
+    @PutMapping("/qc/batch")
+    public ResponseEntity<ApiResponse<BatchGradeResultDTO>> gradeItems(
+            @Valid @RequestBody BatchGradeRequest request,
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            BatchGradeResultDTO result = itemService.gradeItems(request.getGrades(), principal.firebaseUid());
+            return ResponseEntity.ok(
+                    ApiResponse.success(result, result.getSucceeded() + " of " + request.getGrades().size() + " items updated")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to update items: " + e.getMessage())
+            );
+        }
+    }
+
     // Get items ready for marketplace (public endpoint)
     @GetMapping("/marketplace")
     public ResponseEntity<ApiResponse<List<ItemResponseDTO>>> getItemsReadyForListing() {
@@ -142,4 +205,66 @@ public class ItemController {
             );
         }
     }
-}
\ No newline at end of file
+
+    // Get marketplace items page by page (cursor-based), with optional filters
+    @GetMapping("/marketplace/page")
+    public ResponseEntity<ApiResponse<MarketplacePageDTO>> getMarketplacePage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String itemType,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) String ageGroup) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("size must be between 1 and " + MAX_PAGE_SIZE)
+            );
+        }
+
+        try {
+            MarketplacePageDTO page = itemService.getMarketplacePage(
+                    cursor, size, blankToNull(itemType), blankToNull(gender), blankToNull(ageGroup));
+            return ResponseEntity.ok(
+                    ApiResponse.success(page, "Marketplace items retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get marketplace items: " + e.getMessage())
+            );
+        }
+    }
+
+    // Full-text search over marketplace items with facet counts, e.g. ?q=kids jacket minor stain&gender=Girls
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ItemSearchResponseDTO>> searchItems(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String itemType,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) String ageGroup,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || (page + 1L) * size > MAX_SEARCH_WINDOW) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("size must be between 1 and " + MAX_PAGE_SIZE
+                            + " and results are limited to the first " + MAX_SEARCH_WINDOW)
+            );
+        }
+
+        try {
+            ItemSearchResponseDTO result = itemService.searchItems(
+                    q, blankToNull(itemType), blankToNull(gender), blankToNull(ageGroup), page, size);
+            return ResponseEntity.ok(
+                    ApiResponse.success(result, "Search completed successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to search items: " + e.getMessage())
+            );
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
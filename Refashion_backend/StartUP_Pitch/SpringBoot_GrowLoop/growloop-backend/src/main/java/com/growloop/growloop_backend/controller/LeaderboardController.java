@@ -0,0 +1,75 @@
+package com.growloop.growloop_backend.controller;
+
+import com.growloop.growloop_backend.authentication.CurrentUser;
+import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
+import com.growloop.growloop_backend.authentication.Dto.LeaderboardEntryDTO;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = "*")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    // Top contributors (public endpoint); window is "week" or "all"
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<LeaderboardEntryDTO>>> getTop(
+            @RequestParam(defaultValue = "week") String window,
+            @RequestParam(defaultValue = "10") Integer limit) {
+
+        LeaderboardService.Window parsed = parseWindow(window);
+        if (parsed == null || limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("window must be week or all and limit between 1 and " + MAX_LIMIT)
+            );
+        }
+
+        try {
+            List<LeaderboardEntryDTO> top = leaderboardService.top(parsed, limit);
+            return ResponseEntity.ok(
+                    ApiResponse.success(top, "Leaderboard retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get leaderboard: " + e.getMessage())
+            );
+        }
+    }
+
+    // The caller's own rank and points
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<LeaderboardEntryDTO>> getMyRank(
+            @RequestParam(defaultValue = "week") String window,
+            @CurrentUser UserPrincipal principal) {
+
+        LeaderboardService.Window parsed = parseWindow(window);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("window must be week or all")
+            );
+        }
+
+        LeaderboardEntryDTO rank = leaderboardService.rankOf(parsed, principal.userId(), principal.userName());
+        return ResponseEntity.ok(
+                ApiResponse.success(rank, "Rank retrieved successfully")
+        );
+    }
+
+    private static LeaderboardService.Window parseWindow(String window) {
+        return switch (window.toLowerCase()) {
+            case "week" -> LeaderboardService.Window.WEEK;
+            case "all" -> LeaderboardService.Window.ALL_TIME;
+            default -> null;
+        };
+    }
+}
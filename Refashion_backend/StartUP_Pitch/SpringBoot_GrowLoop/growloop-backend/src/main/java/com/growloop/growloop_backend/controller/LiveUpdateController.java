@@ -0,0 +1,29 @@
+package com.growloop.growloop_backend.controller;
+
+import com.growloop.growloop_backend.authentication.CurrentUser;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.service.LiveUpdateHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@CrossOrigin(origins = "*")
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    // Server-sent "update" events for the caller's bags and items. Browsers' EventSource can't send the
+    // Authorization header, so clients use a fetch-based reader; on reconnect they pass the last event id
+    // back and get what they missed, or a "resync" event when that is no longer available.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @CurrentUser UserPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        return liveUpdateHub.subscribe(principal.userId(), lastEventId);
+    }
+}
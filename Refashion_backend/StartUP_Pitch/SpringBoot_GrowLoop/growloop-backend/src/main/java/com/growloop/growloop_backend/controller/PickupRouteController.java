@@ -0,0 +1,47 @@
+package com.growloop.growloop_backend.controller;
+
+import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
+import com.growloop.growloop_backend.authentication.Dto.PickupPlanDTO;
+import com.growloop.growloop_backend.service.PickupRouteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/pickups")
+@CrossOrigin(origins = "*")
+public class PickupRouteController {
+
+    @Autowired
+    private PickupRouteService pickupRouteService;
+
+    // Latest driver routes (for ops team - internal use)
+    @GetMapping("/routes")
+    public ResponseEntity<ApiResponse<PickupPlanDTO>> getRoutes() {
+        try {
+            PickupPlanDTO plan = pickupRouteService.getLatestPlan();
+            return ResponseEntity.ok(
+                    ApiResponse.success(plan, "Pickup routes retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get pickup routes: " + e.getMessage())
+            );
+        }
+    }
+
+    // Re-plan now instead of waiting for the next scheduled run
+    @PostMapping("/routes/plan")
+    public ResponseEntity<ApiResponse<PickupPlanDTO>> planRoutes() {
+        try {
+            PickupPlanDTO plan = pickupRouteService.planRoutes();
+            return ResponseEntity.ok(
+                    ApiResponse.success(plan, "Pickup routes planned successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to plan pickup routes: " + e.getMessage())
+            );
+        }
+    }
+}
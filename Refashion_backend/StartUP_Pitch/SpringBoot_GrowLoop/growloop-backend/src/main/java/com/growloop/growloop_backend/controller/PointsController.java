@@ -0,0 +1,86 @@
+package com.growloop.growloop_backend.controller;
+
+import com.growloop.growloop_backend.authentication.CurrentUser;
+import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
+import com.growloop.growloop_backend.authentication.Dto.PointsBalanceDTO;
+import com.growloop.growloop_backend.authentication.Dto.PointsLedgerEntryDTO;
+import com.growloop.growloop_backend.authentication.Dto.PointsRedeemRequest;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.service.PointsLedgerService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/points")
+@CrossOrigin(origins = "*")
+public class PointsController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
+    // Current balance: latest snapshot plus the ledger entries after it
+    @GetMapping("/balance")
+    public ResponseEntity<ApiResponse<PointsBalanceDTO>> getBalance(
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            PointsBalanceDTO balance = pointsLedgerService.getBalance(principal.userId());
+            return ResponseEntity.ok(
+                    ApiResponse.success(balance, "Balance retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get balance: " + e.getMessage())
+            );
+        }
+    }
+
+    // Ledger entries, newest first
+    @GetMapping("/history")
+    public ResponseEntity<ApiResponse<List<PointsLedgerEntryDTO>>> getHistory(
+            @CurrentUser UserPrincipal principal,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "50") Integer size) {
+
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE)
+            );
+        }
+
+        try {
+            List<PointsLedgerEntryDTO> history = pointsLedgerService.getHistory(principal.userId(), page, size);
+            return ResponseEntity.ok(
+                    ApiResponse.success(history, "History retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to get history: " + e.getMessage())
+            );
+        }
+    }
+
+    // Spend points (marketplace purchases); fails if the balance is too low
+    @PostMapping("/redeem")
+    public ResponseEntity<ApiResponse<PointsBalanceDTO>> redeem(
+            @Valid @RequestBody PointsRedeemRequest request,
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            PointsBalanceDTO balance = pointsLedgerService.redeem(principal, request.getPoints(), request.getDescription());
+            return ResponseEntity.ok(
+                    ApiResponse.success(balance, request.getPoints() + " points redeemed")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to redeem points: " + e.getMessage())
+            );
+        }
+    }
+}
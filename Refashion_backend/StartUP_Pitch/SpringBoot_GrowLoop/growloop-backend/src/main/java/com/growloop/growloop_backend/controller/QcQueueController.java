@@ -0,0 +1,78 @@
+package com.growloop.growloop_backend.controller;
+
+import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemUpdateRequest;
+import com.growloop.growloop_backend.authentication.Dto.QcClaimDTO;
+import com.growloop.growloop_backend.authentication.CurrentUser;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.service.QcWorkQueue;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Work queue for QC graders (internal use); the verified caller (@CurrentUser) owns the leases, by Firebase UID
+@RestController
+@RequestMapping("/api/qc/queue")
+@CrossOrigin(origins = "*")
+public class QcQueueController {
+
+    @Autowired
+    private QcWorkQueue qcWorkQueue;
+
+    // Lease the next batch of PENDING_QC items
+    @PostMapping("/claim")
+    public ResponseEntity<ApiResponse<QcClaimDTO>> claim(
+            @RequestParam(defaultValue = "10") Integer batchSize,
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            QcClaimDTO claim = qcWorkQueue.claim(principal.firebaseUid(), batchSize);
+            return ResponseEntity.ok(
+                    ApiResponse.success(claim, claim.getItems().size() + " items claimed")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to claim items: " + e.getMessage())
+            );
+        }
+    }
+
+    // Submit the grade for a leased item
+    @PostMapping("/{itemId}/complete")
+    public ResponseEntity<ApiResponse<ItemResponseDTO>> complete(
+            @PathVariable Long itemId,
+            @Valid @RequestBody ItemUpdateRequest request,
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            ItemResponseDTO item = qcWorkQueue.complete(itemId, principal.firebaseUid(), request);
+            return ResponseEntity.ok(
+                    ApiResponse.success(item, "Item graded successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to grade item: " + e.getMessage())
+            );
+        }
+    }
+
+    // Give a leased item back to the queue
+    @PostMapping("/{itemId}/release")
+    public ResponseEntity<ApiResponse<Void>> release(
+            @PathVariable Long itemId,
+            @CurrentUser UserPrincipal principal) {
+
+        try {
+            qcWorkQueue.release(itemId, principal.firebaseUid());
+            return ResponseEntity.ok(
+                    ApiResponse.success(null, "Item released")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to release item: " + e.getMessage())
+            );
+        }
+    }
+}
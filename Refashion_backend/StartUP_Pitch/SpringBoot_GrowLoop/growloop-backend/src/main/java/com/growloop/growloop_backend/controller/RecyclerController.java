@@ -4,11 +4,20 @@ import com.growloop.growloop_backend.authentication.Dto.ApiResponse;
 import com.growloop.growloop_backend.authentication.Dto.RecyclerResponseDTO;
 import com.growloop.growloop_backend.entity.Recycler;
 import com.growloop.growloop_backend.repository.RecyclerRepository;
+import com.growloop.growloop_backend.service.AcceptedItemCategories;
+import com.growloop.growloop_backend.service.NearbyRecyclerCache;
+import com.growloop.growloop_backend.service.RecyclerSpatialIndex;
+import com.growloop.growloop_backend.utilityFunctions.GeoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -16,9 +25,17 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class RecyclerController {
 
+    private static final int MAX_NEAREST = 100;
+
     @Autowired
     private RecyclerRepository recyclerRepository;
 
+    @Autowired
+    private RecyclerSpatialIndex recyclerSpatialIndex;
+
+    @Autowired
+    private NearbyRecyclerCache nearbyRecyclerCache;
+
     // Get all recyclers
     @GetMapping("/all")
     public ResponseEntity<ApiResponse<List<RecyclerResponseDTO>>> getAllRecyclers() {
@@ -38,30 +55,47 @@ public class RecyclerController {
         }
     }
 
-    // Get nearby recyclers
+    // Get nearby recyclers (optionally only the `limit` closest ones)
     @GetMapping("/nearby")
     public ResponseEntity<ApiResponse<List<RecyclerResponseDTO>>> getNearbyRecyclers(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "10") Double radiusKm) {
-        
-        try {
-            List<Recycler> recyclers = recyclerRepository.findNearbyRecyclers(
-                    latitude, longitude, radiusKm
+            @RequestParam(defaultValue = "10") Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("limit must be at least 1")
             );
-            
-            List<RecyclerResponseDTO> response = recyclers.stream()
-                    .map(recycler -> {
-                        RecyclerResponseDTO dto = RecyclerResponseDTO.fromRecycler(recycler);
-                        // Calculate distance
-                        double distance = calculateDistance(
+        }
+
+        try {
+            List<RecyclerResponseDTO> response;
+            long[] candidateIds = limit == null && recyclerSpatialIndex.isLoaded()
+                    ? nearbyRecyclerCache.candidateIds(latitude, longitude, radiusKm)
+                    : null;
+            if (candidateIds != null) {
+                response = toDtosWithinRadius(candidateIds, latitude, longitude, radiusKm);
+            } else if (recyclerSpatialIndex.isLoaded()) {
+                List<RecyclerSpatialIndex.NearbyRecycler> hits = limit != null
+                        ? recyclerSpatialIndex.findNearest(latitude, longitude, limit, radiusKm)
+                        : recyclerSpatialIndex.findWithinRadius(latitude, longitude, radiusKm);
+                response = hits.stream()
+                        .map(hit -> toDto(hit.recycler(), hit.distanceKm()))
+                        .collect(Collectors.toList());
+            } else {
+                // Index still loading: fall back to the SPATIAL index query
+                List<Recycler> recyclers = recyclerRepository.findNearbyRecyclersIndexed(
+                        latitude, longitude, radiusKm
+                );
+                response = recyclers.stream()
+                        .limit(limit != null ? limit : Long.MAX_VALUE)
+                        .map(recycler -> toDto(recycler, calculateDistance(
                                 latitude, longitude,
                                 recycler.getLatitude(), recycler.getLongitude()
-                        );
-                        dto.setDistance(Math.round(distance * 100.0) / 100.0);
-                        return dto;
-                    })
-                    .collect(Collectors.toList());
+                        )))
+                        .collect(Collectors.toList());
+            }
             
             return ResponseEntity.ok(
                     ApiResponse.success(response, "Nearby recyclers retrieved successfully")
@@ -73,6 +107,52 @@ public class RecyclerController {
         }
     }
 
+    // Get the k closest recyclers that accept all of the given item categories
+    @GetMapping("/nearest")
+    public ResponseEntity<ApiResponse<List<RecyclerResponseDTO>>> getNearestRecyclers(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") Integer k,
+            @RequestParam(defaultValue = "50") Double maxRadiusKm,
+            @RequestParam(required = false) List<String> acceptedItems) {
+
+        if (k < 1 || k > MAX_NEAREST) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("k must be between 1 and " + MAX_NEAREST)
+            );
+        }
+
+        try {
+            List<RecyclerResponseDTO> response;
+            if (recyclerSpatialIndex.isLoaded()) {
+                AcceptedItemCategories.Required required = recyclerSpatialIndex.acceptedItemsFilter(acceptedItems);
+                response = required == null
+                        ? List.of()
+                        : recyclerSpatialIndex.findNearest(latitude, longitude, k, maxRadiusKm, required).stream()
+                                .map(hit -> toDto(hit.recycler(), hit.distanceKm()))
+                                .collect(Collectors.toList());
+            } else {
+                // Index still loading: radius query, then filter on the raw accepted-items text
+                response = recyclerRepository.findNearbyRecyclersIndexed(latitude, longitude, maxRadiusKm).stream()
+                        .filter(recycler -> acceptsAll(recycler, acceptedItems))
+                        .limit(k)
+                        .map(recycler -> toDto(recycler, calculateDistance(
+                                latitude, longitude,
+                                recycler.getLatitude(), recycler.getLongitude()
+                        )))
+                        .collect(Collectors.toList());
+            }
+
+            return ResponseEntity.ok(
+                    ApiResponse.success(response, "Nearest recyclers retrieved successfully")
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                    ApiResponse.error("Failed to retrieve nearest recyclers: " + e.getMessage())
+            );
+        }
+    }
+
     // Get verified recyclers only
     @GetMapping("/verified")
     public ResponseEntity<ApiResponse<List<RecyclerResponseDTO>>> getVerifiedRecyclers() {
@@ -92,19 +172,51 @@ public class RecyclerController {
         }
     }
 
+    // Exact distance for each cached candidate, keeping the ones inside the radius
+    private List<RecyclerResponseDTO> toDtosWithinRadius(long[] candidateIds, double latitude,
+                                                         double longitude, double radiusKm) {
+        List<RecyclerResponseDTO> response = new ArrayList<>();
+        for (long recyclerId : candidateIds) {
+            Recycler recycler = recyclerSpatialIndex.get(recyclerId);
+            if (recycler == null) {
+                continue;
+            }
+            double distance = calculateDistance(
+                    latitude, longitude,
+                    recycler.getLatitude(), recycler.getLongitude()
+            );
+            if (distance <= radiusKm) {
+                response.add(toDto(recycler, distance));
+            }
+        }
+        response.sort(Comparator.comparingDouble(RecyclerResponseDTO::getDistance));
+        return response;
+    }
+
+    private boolean acceptsAll(Recycler recycler, List<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return true;
+        }
+        if (recycler.getAcceptedItems() == null) {
+            return false;
+        }
+        Set<String> accepted = Arrays.stream(recycler.getAcceptedItems().split(","))
+                .map(item -> item.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return categories.stream()
+                .map(item -> item.trim().toLowerCase(Locale.ROOT))
+                .filter(item -> !item.isEmpty())
+                .allMatch(accepted::contains);
+    }
+
+    private RecyclerResponseDTO toDto(Recycler recycler, double distance) {
+        RecyclerResponseDTO dto = RecyclerResponseDTO.fromRecycler(recycler);
+        dto.setDistance(Math.round(distance * 100.0) / 100.0);
+        return dto;
+    }
+
     // Helper method to calculate distance using Haversine formula
     private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Earth's radius in km
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return R * c;
+        return GeoUtils.haversineKm(lat1, lon1, lat2, lon2);
     }
 }
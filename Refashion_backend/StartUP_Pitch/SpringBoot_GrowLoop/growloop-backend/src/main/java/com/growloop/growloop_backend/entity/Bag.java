@@ -9,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -20,11 +21,21 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bags")
+@DynamicUpdate // total_items / points_awarded change through atomic UPDATEs; don't write stale copies back
+@Table(name = "bags", indexes = {
+        @Index(name = "uk_bags_sharable_link", columnList = "sharable_link", unique = true),
+        @Index(name = "idx_bags_created_at", columnList = "created_at"),
+        @Index(name = "idx_bags_user_purpose_time", columnList = "user_id, purpose, created_at"),
+        @Index(name = "idx_bags_status", columnList = "status")
+})
 public class Bag {
 
+    public static final int FREE_PICKUP_MIN_ITEMS = 5;
+
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bags_seq")
+    @SequenceGenerator(name = "bags_seq", sequenceName = "bags_seq", allocationSize = 50)
     @Column(name = "bag_id")
     private long bagId;
 
@@ -68,7 +79,12 @@ public class Bag {
 
     // Core business logic for pickup eligibility
     public boolean isEligibleForFreePickup() {
-        return totalItems >= 5 && (status == BagStatus.OPEN || status == BagStatus.AWAITING_PICKUP);
+        return isEligibleForFreePickup(totalItems);
+    }
+
+    // Overloads taking the item count let reads add counter deltas that are still buffered in memory
+    public boolean isEligibleForFreePickup(int itemCount) {
+        return itemCount >= FREE_PICKUP_MIN_ITEMS && (status == BagStatus.OPEN || status == BagStatus.AWAITING_PICKUP);
     }
 
     @Enumerated(EnumType.STRING)
@@ -81,16 +97,24 @@ public class Bag {
     }
 
     public double getPickupCost() {
-        return isEligibleForFreePickup() ? 0.0 : deliveryCharge;
+        return getPickupCost(totalItems);
+    }
+
+    public double getPickupCost(int itemCount) {
+        return isEligibleForFreePickup(itemCount) ? 0.0 : deliveryCharge;
     }
 
     public String getPickupEligibilityMessage() {
-        if (totalItems == 0) {
+        return getPickupEligibilityMessage(totalItems);
+    }
+
+    public String getPickupEligibilityMessage(int itemCount) {
+        if (itemCount == 0) {
             return "Add items to schedule pickup";
-        } else if (isEligibleForFreePickup()) {
+        } else if (isEligibleForFreePickup(itemCount)) {
             return "Eligible for FREE pickup!";
         } else {
-            int itemsNeeded = 5 - totalItems;
+            int itemsNeeded = FREE_PICKUP_MIN_ITEMS - itemCount;
             return String.format("Add %d more item%s for FREE pickup or pay ₹%.0f delivery charge",
                     itemsNeeded, itemsNeeded > 1 ? "s" : "", deliveryCharge);
         }
@@ -143,14 +167,15 @@ public class Bag {
         return status == BagStatus.AWAITING_PICKUP;
     }
 
+    // BagService assigns a collision-checked token from ShareLinkRegistry; this covers other persist paths
     @PrePersist
     public void generateShareableLink() {
         if (this.sharableLink == null || this.sharableLink.isEmpty()) {
-            this.sharableLink = generateUniqueToken();
+            this.sharableLink = newShareToken();
         }
     }
 
-    private String generateUniqueToken() {
+    public static String newShareToken() {
         return UUID.randomUUID().toString().replace("-", "").substring(0, 8).toUpperCase();
     }
 
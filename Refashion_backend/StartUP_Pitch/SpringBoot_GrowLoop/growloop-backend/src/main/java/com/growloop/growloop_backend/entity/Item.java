@@ -19,17 +19,24 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_listing", columnList = "grade, status, added_at, item_id"),
+        @Index(name = "idx_items_listing_type", columnList = "grade, status, item_type, added_at, item_id"),
+        @Index(name = "idx_items_contributor_bag", columnList = "contributor_id, bag_id, added_at"),
+        @Index(name = "idx_items_qc_queue", columnList = "status, qc_lease_expires_at, added_at")
+})
 public class Item {
 
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long itemId;
 
-    // Many items belong to one bag
+    // Many items belong to one bag; recycling items have no bag
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "bag_id", nullable = false)
+    @JoinColumn(name = "bag_id")
     private Bag bag;
 
     // User who contributed this item (supports community bag sharing)
@@ -69,6 +76,13 @@ public class Item {
     @Column(name = "added_at", updatable = false)
     private LocalDateTime addedAt;
 
+    // QC work queue lease: the grader holding this PENDING_QC item and until when
+    @Column(name = "qc_lease_owner", length = 128)
+    private String qcLeaseOwner;
+
+    @Column(name = "qc_lease_expires_at")
+    private LocalDateTime qcLeaseExpiresAt;
+
     // Business logic methods
     public boolean isGradeA() {
         return ItemGrade.A.equals(this.grade);
@@ -79,6 +93,17 @@ public class Item {
                 ItemStatus.APPROVED.equals(this.status);
     }
 
+    // True while a grader other than workerId holds an unexpired QC lease on the item
+    public boolean isQcLeasedToOther(String workerId, LocalDateTime now) {
+        return qcLeaseOwner != null && !qcLeaseOwner.equals(workerId)
+                && qcLeaseExpiresAt != null && qcLeaseExpiresAt.isAfter(now);
+    }
+
+    public void clearQcLease() {
+        this.qcLeaseOwner = null;
+        this.qcLeaseExpiresAt = null;
+    }
+
     public void assignGradeAndPoints(ItemGrade grade, BigDecimal points) {
         this.grade = grade;
         this.loyaltyPoint = points != null ? points : BigDecimal.ZERO;
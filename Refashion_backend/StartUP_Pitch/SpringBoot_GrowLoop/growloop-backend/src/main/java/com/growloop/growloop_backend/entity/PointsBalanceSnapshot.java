@@ -0,0 +1,46 @@
+package com.growloop.growloop_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// A user's balance over every ledger entry created before coveredUntil.
+// Current balance = latest snapshot + entries created at or after its coveredUntil.
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "points_balance_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_points_snapshot_user_covered", columnNames = {"user_id", "covered_until"})
+})
+public class PointsBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "points_balance_snapshots_seq")
+    @SequenceGenerator(name = "points_balance_snapshots_seq", sequenceName = "points_balance_snapshots_seq",
+            allocationSize = 50)
+    @Column(name = "snapshot_id")
+    private long snapshotId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User user;
+
+    @Column(name = "balance", nullable = false, updatable = false)
+    private long balance;
+
+    @Column(name = "covered_until", nullable = false, updatable = false)
+    private LocalDateTime coveredUntil;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,55 @@
+package com.growloop.growloop_backend.entity;
+
+import com.growloop.growloop_backend.enumHelpers.PointsEntryType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Append-only: a balance is the sum of a user's entries, so corrections are new entries, never updates
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "points_ledger", indexes = {
+        @Index(name = "idx_points_ledger_user_time", columnList = "user_id, created_at")
+})
+public class PointsLedgerEntry {
+
+    // Pooled sequence so entries posted together go out as one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "points_ledger_seq")
+    @SequenceGenerator(name = "points_ledger_seq", sequenceName = "points_ledger_seq", allocationSize = 50)
+    @Column(name = "entry_id")
+    private long entryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User user;
+
+    // Positive for credits, negative for debits
+    @Column(name = "amount", nullable = false, updatable = false)
+    private int amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false)
+    private PointsEntryType entryType;
+
+    // Item that earned (or lost) the points, if any
+    @Column(name = "item_id", updatable = false)
+    private Long itemId;
+
+    @Column(name = "description", updatable = false)
+    private String description;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -6,6 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +20,9 @@ import java.time.LocalDateTime;
 @Table(name = "recyclers")
 public class Recycler {
 
+    // SRID 0 keeps the column planar (x = longitude, y = latitude) so MBR functions can use the SPATIAL index
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 0);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "recycler_id")
@@ -39,6 +46,10 @@ public class Recycler {
     @Column(name = "longitude", nullable = false)
     private Double longitude;
 
+    // Mirrors latitude/longitude; also maintained by DB triggers for rows written outside JPA
+    @Column(name = "location", columnDefinition = "POINT SRID 0")
+    private Point location;
+
     @Column(name = "rating")
     private Double rating = 0.0;
 
@@ -61,4 +72,12 @@ public class Recycler {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void syncLocation() {
+        if (latitude != null && longitude != null) {
+            this.location = GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+        }
+    }
 }
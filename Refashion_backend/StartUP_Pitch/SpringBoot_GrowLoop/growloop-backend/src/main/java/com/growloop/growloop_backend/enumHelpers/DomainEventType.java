@@ -0,0 +1,32 @@
+package com.growloop.growloop_backend.enumHelpers;
+
+import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.UserResponseDTO;
+
+// Outbox event types; the payload is the aggregate's response DTO as committed
+public enum DomainEventType {
+    ITEM_CREATED("ITEM", ItemResponseDTO.class),
+    ITEM_GRADED("ITEM", ItemResponseDTO.class),
+    BAG_CREATED("BAG", BagResponseDTO.class),
+    BAG_PICKUP_SCHEDULED("BAG", BagResponseDTO.class),
+    BAG_COLLECTED("BAG", BagResponseDTO.class),
+    BAG_CLOSED("BAG", BagResponseDTO.class),
+    USER_RENAMED("USER", UserResponseDTO.class);
+
+    private final String aggregateType;
+    private final Class<?> payloadType;
+
+    DomainEventType(String aggregateType, Class<?> payloadType) {
+        this.aggregateType = aggregateType;
+        this.payloadType = payloadType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Class<?> getPayloadType() {
+        return payloadType;
+    }
+}
@@ -0,0 +1,7 @@
+package com.growloop.growloop_backend.enumHelpers;
+
+public enum OutboxStatus {
+    PENDING,
+    PUBLISHED,
+    DEAD // Gave up after growloop.outbox.max-attempts; later events of the aggregate go on without it
+}
@@ -0,0 +1,19 @@
+package com.growloop.growloop_backend.enumHelpers;
+
+// Why a points ledger entry was written; credits are positive amounts, debits negative
+public enum PointsEntryType {
+    ITEM_APPROVED("Item approved"),
+    ITEM_ADJUSTED("Item points adjusted"),
+    ITEM_REVOKED("Item approval withdrawn"),
+    REDEEMED("Points redeemed");
+
+    private final String displayName;
+
+    PointsEntryType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
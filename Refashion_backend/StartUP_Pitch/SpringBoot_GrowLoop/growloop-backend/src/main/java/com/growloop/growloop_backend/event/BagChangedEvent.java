@@ -0,0 +1,9 @@
+package com.growloop.growloop_backend.event;
+
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+
+// A bag was created, received items (itemDelta > 0) or changed status; status is the bag's state after
+// the change. itemId is one of the items added, 0 when there are none. Listeners act once the
+// transaction commits.
+public record BagChangedEvent(long bagId, long ownerId, BagStatus status, int itemDelta, long itemId) {
+}
@@ -0,0 +1,14 @@
+package com.growloop.growloop_backend.event;
+
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+
+import java.time.LocalDateTime;
+
+// An outbox event as handed to subscribers; payload is an instance of type.getPayloadType()
+public record DomainEvent(long eventId, DomainEventType type, long aggregateId, Object payload,
+                          LocalDateTime occurredAt) {
+
+    public <T> T payload(Class<T> payloadType) {
+        return payloadType.cast(payload);
+    }
+}
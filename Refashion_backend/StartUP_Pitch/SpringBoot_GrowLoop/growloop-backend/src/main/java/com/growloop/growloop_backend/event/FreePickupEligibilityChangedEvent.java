@@ -0,0 +1,6 @@
+package com.growloop.growloop_backend.event;
+
+// A bag crossed the free-pickup threshold (eligible) or dropped out of it by leaving OPEN. Published
+// after the triggering commit, so listeners use @EventListener rather than @TransactionalEventListener.
+public record FreePickupEligibilityChangedEvent(long bagId, long ownerId, int itemCount, boolean eligible) {
+}
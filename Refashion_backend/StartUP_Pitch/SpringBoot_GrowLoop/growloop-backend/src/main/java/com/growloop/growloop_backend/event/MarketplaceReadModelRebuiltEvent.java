@@ -0,0 +1,5 @@
+package com.growloop.growloop_backend.event;
+
+// The marketplace read model was reloaded from MySQL; derived views should resync from it
+public record MarketplaceReadModelRebuiltEvent(int size) {
+}
@@ -0,0 +1,11 @@
+package com.growloop.growloop_backend.event;
+
+// In-process consumer of outbox events. Delivery is at least once and in event order per aggregate, so
+// handlers must tolerate seeing an event again. Throwing leaves the event (and the rest of its aggregate's
+// events) pending for the next poll.
+public interface OutboxSubscriber {
+
+    boolean accepts(DomainEvent event);
+
+    void handle(DomainEvent event);
+}
@@ -0,0 +1,12 @@
+package com.growloop.growloop_backend.event;
+
+import java.util.List;
+
+// In-process consumer of this instance's outbox tail (OutboxTail): every instance gets every event committed
+// after it started, in id order, whichever instance wrote it. For per-instance state (in-memory views, open
+// streams); anything that must happen once across the cluster is an OutboxSubscriber. Events are not retried,
+// so a listener that can't apply one should fall back to its own reload.
+public interface OutboxTailListener {
+
+    void onOutboxEvents(List<DomainEvent> events);
+}
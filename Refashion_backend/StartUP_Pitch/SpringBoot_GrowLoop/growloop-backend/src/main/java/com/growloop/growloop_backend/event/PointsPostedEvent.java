@@ -0,0 +1,10 @@
+package com.growloop.growloop_backend.event;
+
+import com.growloop.growloop_backend.enumHelpers.PointsEntryType;
+
+import java.time.LocalDateTime;
+
+// One points ledger entry, published when it is written; listeners act once the transaction commits
+public record PointsPostedEvent(long entryId, long userId, int amount, PointsEntryType entryType,
+                                LocalDateTime createdAt) {
+}
@@ -0,0 +1,16 @@
+package com.growloop.growloop_backend.event;
+
+// A recycler was added or changed in the in-memory index; previous coordinates are null for new rows
+public record RecyclerChangedEvent(
+        Long recyclerId,
+        Double previousLatitude,
+        Double previousLongitude,
+        Double latitude,
+        Double longitude
+) {
+    public boolean moved() {
+        return previousLatitude == null
+                || !previousLatitude.equals(latitude)
+                || !previousLongitude.equals(longitude);
+    }
+}
@@ -0,0 +1,5 @@
+package com.growloop.growloop_backend.event;
+
+// The recycler index was rebuilt from scratch; anything derived from it is stale
+public record RecyclerIndexRebuiltEvent(int size) {
+}
@@ -1,13 +1,22 @@
 package com.growloop.growloop_backend.repository;
 
+import com.growloop.growloop_backend.authentication.Dto.BagCountersRow;
+import com.growloop.growloop_backend.authentication.Dto.BagSummaryRow;
+import com.growloop.growloop_backend.authentication.Dto.OpenBagCount;
+import com.growloop.growloop_backend.authentication.Dto.PickupStop;
 import com.growloop.growloop_backend.entity.Bag;
 import com.growloop.growloop_backend.entity.User;
 import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +29,11 @@ public interface BagRepository extends JpaRepository<Bag, Long> {
     // Find bag by shareable token (for community sharing)
     Optional<Bag> findBySharableLink(String sharableLink);
 
-    // Find bags eligible for free pickup
+    // With the owner fetch-joined, so the share page can be built outside a transaction
+    @Query("SELECT b FROM Bag b JOIN FETCH b.user WHERE b.sharableLink = :sharableLink")
+    Optional<Bag> findBySharableLinkWithOwner(@Param("sharableLink") String sharableLink);
+
+    // Find bags eligible for free pickup. Scans the table; FreePickupEligibilityTracker keeps this set in memory
     @Query("SELECT b FROM Bag b WHERE b.totalItems >= 5 AND b.status = 'OPEN'")
     List<Bag> findBagsEligibleForFreePickup();
 
@@ -36,6 +49,68 @@ public interface BagRepository extends JpaRepository<Bag, Long> {
 
     List<Bag> findByPurpose(BagPurpose purpose);
 
+    // Share tokens in index order, a page at a time (fills the share-link Bloom filter)
+    @Query("SELECT b.sharableLink FROM Bag b WHERE b.sharableLink > :after ORDER BY b.sharableLink")
+    List<String> findShareTokensAfter(@Param("after") String after, Pageable pageable);
+
+    @Query("SELECT b.sharableLink FROM Bag b WHERE b.createdAt >= :since AND b.sharableLink IS NOT NULL")
+    List<String> findShareTokensCreatedSince(@Param("since") LocalDateTime since);
+
     List<Bag> findByUserAndPurposeOrderByCreatedAtDesc(User user, BagPurpose purpose);
+
+    // Same as the two finders above, with the owner fetch-joined for BagResponseDTO.fromBag
+    @Query("SELECT b FROM Bag b JOIN FETCH b.user WHERE b.user = :user ORDER BY b.createdAt DESC")
+    List<Bag> findByUserWithOwner(@Param("user") User user);
+
+    @Query("SELECT b FROM Bag b JOIN FETCH b.user " +
+            "WHERE b.user = :user AND b.purpose = :purpose ORDER BY b.createdAt DESC")
+    List<Bag> findByUserAndPurposeWithOwner(@Param("user") User user, @Param("purpose") BagPurpose purpose);
+
+    // One page of a user's bags, newest first; the owner is the caller, so it isn't joined
+    @Query("SELECT b FROM Bag b WHERE b.user.userId = :userId ORDER BY b.createdAt DESC, b.bagId DESC")
+    List<Bag> findPageByUser(@Param("userId") long userId, Pageable pageable);
+
+    @Query("SELECT b FROM Bag b WHERE b.user.userId = :userId AND b.purpose = :purpose " +
+            "ORDER BY b.createdAt DESC, b.bagId DESC")
+    List<Bag> findPageByUserAndPurpose(@Param("userId") long userId, @Param("purpose") BagPurpose purpose,
+                                       Pageable pageable);
+
+    // Bag count and counter totals per (status, purpose) for one user, in a single pass over its index range
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.BagSummaryRow(" +
+            "b.status, b.purpose, COUNT(b), COALESCE(SUM(b.totalItems), 0), COALESCE(SUM(b.pointsAwarded), 0)) " +
+            "FROM Bag b WHERE b.user.userId = :userId GROUP BY b.status, b.purpose")
+    List<BagSummaryRow> summarizeByUser(@Param("userId") long userId);
+
+    // Bags awaiting pickup, located at the owner's coordinates (input for route planning)
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.PickupStop(" +
+            "b.bagId, u.userId, u.latitude, u.longitude, b.totalItems) " +
+            "FROM Bag b JOIN b.user u " +
+            "WHERE b.status = 'AWAITING_PICKUP' AND u.latitude IS NOT NULL AND u.longitude IS NOT NULL")
+    List<PickupStop> findAwaitingPickupStops();
+
+    long countByStatus(BagStatus status);
+
+    @Query("SELECT b FROM Bag b JOIN FETCH b.user WHERE b.bagId IN :bagIds ORDER BY b.createdAt")
+    List<Bag> findAllByIdWithOwner(@Param("bagIds") List<Long> bagIds);
+
+    // Counters of several bags at once (live updates after each outbox poll)
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.BagCountersRow(" +
+            "b.bagId, b.user.userId, b.status, b.totalItems, b.pointsAwarded) FROM Bag b WHERE b.bagId IN :bagIds")
+    List<BagCountersRow> findCountersByIds(@Param("bagIds") Collection<Long> bagIds);
+
+    // Item counts of all OPEN bags (loads the free-pickup eligibility tracker). Counted from the items
+    // themselves rather than total_items, so the load sees exactly the items committed before it
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.OpenBagCount(b.bagId, b.user.userId, COUNT(i)) " +
+            "FROM Bag b LEFT JOIN Item i ON i.bag = b WHERE b.status = 'OPEN' GROUP BY b.bagId, b.user.userId")
+    List<OpenBagCount> findOpenBagCounts();
+
+    // Counters change as deltas in SQL; the row lock taken by the UPDATE orders concurrent contributors
+    @Modifying
+    @Query("UPDATE Bag b SET b.totalItems = b.totalItems + :delta WHERE b.bagId = :bagId")
+    int incrementTotalItems(@Param("bagId") long bagId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Bag b SET b.pointsAwarded = b.pointsAwarded + :delta WHERE b.bagId = :bagId")
+    int addPointsAwarded(@Param("bagId") long bagId, @Param("delta") int delta);
 }
 
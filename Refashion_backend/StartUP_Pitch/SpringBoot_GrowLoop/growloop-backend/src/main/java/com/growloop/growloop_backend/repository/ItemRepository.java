@@ -1,15 +1,21 @@
 package com.growloop.growloop_backend.repository;
 
+import com.growloop.growloop_backend.authentication.Dto.MarketplaceListingRow;
 import com.growloop.growloop_backend.entity.*;
 import com.growloop.growloop_backend.enumHelpers.items.ItemGrade;
 import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -30,6 +36,94 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("SELECT i FROM Item i WHERE i.grade = 'A' AND i.status = 'APPROVED'")
     List<Item> findItemsReadyForListing();
 
+    // Marketplace keyset pagination, newest first. Both queries walk idx_items_listing
+    // (grade, status, added_at, item_id), so page N costs the same as page 1.
+    // Bag and contributor are fetch-joined so ItemResponseDTO mapping issues no extra SELECTs.
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.bag JOIN FETCH i.contributor " +
+            "WHERE i.grade = 'A' AND i.status = 'APPROVED' " +
+            "AND (:itemType IS NULL OR i.itemType = :itemType) " +
+            "AND (:gender IS NULL OR i.gender = :gender) " +
+            "AND (:ageGroup IS NULL OR i.ageGroup = :ageGroup) " +
+            "ORDER BY i.addedAt DESC, i.itemId DESC")
+    List<Item> findListingFirstPage(
+            @Param("itemType") String itemType,
+            @Param("gender") String gender,
+            @Param("ageGroup") String ageGroup,
+            Pageable pageable
+    );
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.bag JOIN FETCH i.contributor " +
+            "WHERE i.grade = 'A' AND i.status = 'APPROVED' " +
+            "AND (:itemType IS NULL OR i.itemType = :itemType) " +
+            "AND (:gender IS NULL OR i.gender = :gender) " +
+            "AND (:ageGroup IS NULL OR i.ageGroup = :ageGroup) " +
+            "AND (i.addedAt < :cursorAddedAt OR (i.addedAt = :cursorAddedAt AND i.itemId < :cursorItemId)) " +
+            "ORDER BY i.addedAt DESC, i.itemId DESC")
+    List<Item> findListingPageAfter(
+            @Param("itemType") String itemType,
+            @Param("gender") String gender,
+            @Param("ageGroup") String ageGroup,
+            @Param("cursorAddedAt") LocalDateTime cursorAddedAt,
+            @Param("cursorItemId") Long cursorItemId,
+            Pageable pageable
+    );
+
+    // Read-model load, in listing order and batches of pageable size; projected so no entities are built
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.MarketplaceListingRow(" +
+            "i.itemId, b.bagId, b.bagName, c.userId, c.userName, i.itemType, i.conditionDescription, " +
+            "i.gender, i.ageGroup, i.loyaltyPoint, i.addedAt) " +
+            "FROM Item i LEFT JOIN i.bag b JOIN i.contributor c " +
+            "WHERE i.grade = 'A' AND i.status = 'APPROVED' " +
+            "ORDER BY i.addedAt DESC, i.itemId DESC")
+    List<MarketplaceListingRow> findListingRowsFirstBatch(Pageable pageable);
+
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.MarketplaceListingRow(" +
+            "i.itemId, b.bagId, b.bagName, c.userId, c.userName, i.itemType, i.conditionDescription, " +
+            "i.gender, i.ageGroup, i.loyaltyPoint, i.addedAt) " +
+            "FROM Item i LEFT JOIN i.bag b JOIN i.contributor c " +
+            "WHERE i.grade = 'A' AND i.status = 'APPROVED' " +
+            "AND (i.addedAt < :cursorAddedAt OR (i.addedAt = :cursorAddedAt AND i.itemId < :cursorItemId)) " +
+            "ORDER BY i.addedAt DESC, i.itemId DESC")
+    List<MarketplaceListingRow> findListingRowsAfter(
+            @Param("cursorAddedAt") LocalDateTime cursorAddedAt,
+            @Param("cursorItemId") Long cursorItemId,
+            Pageable pageable
+    );
+
+    @Query("SELECT COUNT(i) FROM Item i WHERE i.grade = 'A' AND i.status = 'APPROVED'")
+    long countItemsReadyForListing();
+
+    // QC work queue: lock the oldest unleased (or lease-expired) PENDING_QC rows, skipping rows another
+    // grader is claiming right now. The caller writes its lease before the transaction commits.
+    @Query(value = "SELECT * FROM items " +
+            "WHERE status = 'PENDING_QC' AND (qc_lease_expires_at IS NULL OR qc_lease_expires_at < :now) " +
+            "ORDER BY added_at, item_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Item> lockClaimableForQc(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM items WHERE item_id = :itemId FOR UPDATE", nativeQuery = true)
+    Optional<Item> lockById(@Param("itemId") Long itemId);
+
+    // In id order, so two batches over overlapping items lock them in the same order
+    @Query(value = "SELECT * FROM items WHERE item_id IN (:itemIds) ORDER BY item_id FOR UPDATE", nativeQuery = true)
+    List<Item> lockAllById(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.bag JOIN FETCH i.contributor " +
+            "WHERE i.itemId IN :itemIds ORDER BY i.addedAt, i.itemId")
+    List<Item> findByItemIdInWithDetails(@Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.qcLeaseOwner = NULL, i.qcLeaseExpiresAt = NULL " +
+            "WHERE i.status = 'PENDING_QC' AND i.qcLeaseExpiresAt < :now")
+    int clearExpiredQcLeases(@Param("now") LocalDateTime now);
+
+    // High-water mark and visibility lookups for SnapshotRebuild
+    @Query("SELECT COALESCE(MAX(i.itemId), 0) FROM Item i")
+    long findMaxItemId();
+
+    @Query("SELECT i.itemId FROM Item i WHERE i.itemId IN :itemIds")
+    List<Long> findExistingItemIds(@Param("itemIds") Collection<Long> itemIds);
+
     // Count items by bag
     Long countByBag(Bag bag);
 
@@ -47,4 +141,27 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     // Find items pending QC
     @Query("SELECT i FROM Item i WHERE i.status = 'PENDING_QC' ORDER BY i.addedAt ASC")
     List<Item> findItemsPendingQC();
+
+    // Variants of the list queries above that fetch-join everything ItemResponseDTO.fromItem reads,
+    // so mapping a list costs one statement instead of one per row
+    @Query("SELECT i FROM Item i JOIN FETCH i.bag JOIN FETCH i.contributor " +
+            "WHERE i.bag = :bag ORDER BY i.addedAt DESC")
+    List<Item> findByBagWithDetails(@Param("bag") Bag bag);
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.bag JOIN FETCH i.contributor " +
+            "WHERE i.contributor = :user ORDER BY i.addedAt DESC")
+    List<Item> findAllByContributorWithDetails(@Param("user") User user);
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.bag JOIN FETCH i.contributor " +
+            "WHERE i.grade = 'A' AND i.status = 'APPROVED'")
+    List<Item> findItemsReadyForListingWithDetails();
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.bag JOIN FETCH i.contributor " +
+            "WHERE i.status = 'PENDING_QC' ORDER BY i.addedAt ASC")
+    List<Item> findItemsPendingQCWithDetails();
+
+    // Recycling items (no bag) for one contributor, newest first; served by idx_items_contributor_bag
+    @Query("SELECT i FROM Item i JOIN FETCH i.contributor " +
+            "WHERE i.contributor = :user AND i.bag IS NULL ORDER BY i.addedAt DESC")
+    List<Item> findRecyclingItemsByContributor(@Param("user") User user, Pageable pageable);
 }
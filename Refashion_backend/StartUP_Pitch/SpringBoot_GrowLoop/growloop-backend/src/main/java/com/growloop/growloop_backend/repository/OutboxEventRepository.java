@@ -0,0 +1,42 @@
+package com.growloop.growloop_backend.repository;
+
+import com.growloop.growloop_backend.entity.OutboxEvent;
+import com.growloop.growloop_backend.enumHelpers.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest undelivered events first; served by idx_outbox_status_id
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' ORDER BY e.eventId")
+    List<OutboxEvent> findPending(Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    // Live-update tail: every event after a cursor, whatever its delivery status
+    @Query("SELECT e FROM OutboxEvent e WHERE e.eventId > :eventId ORDER BY e.eventId")
+    List<OutboxEvent> findAfter(@Param("eventId") long eventId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.eventId), 0) FROM OutboxEvent e")
+    long findMaxEventId();
+
+    // One statement per delivered batch
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.publishedAt = :publishedAt WHERE e.eventId IN :eventIds")
+    int markPublished(@Param("eventIds") List<Long> eventIds, @Param("status") OutboxStatus status,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    // Published rows by when they were delivered, dead ones by when they were written
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE (e.status = 'PUBLISHED' AND e.publishedAt < :cutoff) " +
+            "OR (e.status = 'DEAD' AND e.createdAt < :cutoff)")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,27 @@
+package com.growloop.growloop_backend.repository;
+
+import com.growloop.growloop_backend.entity.PointsBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PointsBalanceSnapshotRepository extends JpaRepository<PointsBalanceSnapshot, Long> {
+
+    // Served by the (user_id, covered_until) unique index
+    Optional<PointsBalanceSnapshot> findTopByUserUserIdOrderByCoveredUntilDesc(long userId);
+
+    // End of the last snapshot window; the next window starts here
+    @Query("SELECT MAX(s.coveredUntil) FROM PointsBalanceSnapshot s")
+    LocalDateTime findLatestCoveredUntil();
+
+    @Query("SELECT s FROM PointsBalanceSnapshot s WHERE s.user.userId IN :userIds AND s.coveredUntil = " +
+            "(SELECT MAX(s2.coveredUntil) FROM PointsBalanceSnapshot s2 WHERE s2.user = s.user)")
+    List<PointsBalanceSnapshot> findLatestForUsers(@Param("userIds") Collection<Long> userIds);
+}
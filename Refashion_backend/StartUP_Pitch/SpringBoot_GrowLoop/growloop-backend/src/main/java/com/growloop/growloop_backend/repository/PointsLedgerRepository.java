@@ -0,0 +1,55 @@
+package com.growloop.growloop_backend.repository;
+
+import com.growloop.growloop_backend.authentication.Dto.UserPointsDelta;
+import com.growloop.growloop_backend.entity.PointsLedgerEntry;
+import com.growloop.growloop_backend.enumHelpers.PointsEntryType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+
+    // Tail after a snapshot; a range scan on idx_points_ledger_user_time
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM PointsLedgerEntry l " +
+            "WHERE l.user.userId = :userId AND l.createdAt >= :from")
+    long sumSince(@Param("userId") long userId, @Param("from") LocalDateTime from);
+
+    @Query("SELECT COUNT(l) FROM PointsLedgerEntry l WHERE l.user.userId = :userId AND l.createdAt >= :from")
+    long countSince(@Param("userId") long userId, @Param("from") LocalDateTime from);
+
+    // Only for users without a snapshot yet, i.e. at most one snapshot interval of history
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM PointsLedgerEntry l WHERE l.user.userId = :userId")
+    long sumAll(@Param("userId") long userId);
+
+    @Query("SELECT COUNT(l) FROM PointsLedgerEntry l WHERE l.user.userId = :userId")
+    long countAll(@Param("userId") long userId);
+
+    @Query("SELECT l FROM PointsLedgerEntry l WHERE l.user.userId = :userId " +
+            "ORDER BY l.createdAt DESC, l.entryId DESC")
+    List<PointsLedgerEntry> findHistory(@Param("userId") long userId, Pageable pageable);
+
+    // High-water mark and visibility lookups for SnapshotRebuild
+    @Query("SELECT COALESCE(MAX(l.entryId), 0) FROM PointsLedgerEntry l")
+    long findMaxEntryId();
+
+    @Query("SELECT l.entryId FROM PointsLedgerEntry l WHERE l.entryId IN :entryIds")
+    List<Long> findExistingEntryIds(@Param("entryIds") Collection<Long> entryIds);
+
+    // Net change per user over one snapshot window [from, to)
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.UserPointsDelta(l.user.userId, SUM(l.amount)) " +
+            "FROM PointsLedgerEntry l WHERE l.createdAt >= :from AND l.createdAt < :to GROUP BY l.user.userId")
+    List<UserPointsDelta> sumByUserBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Per-user total since a point in time, leaving out one entry type (the leaderboard skips redemptions)
+    @Query("SELECT new com.growloop.growloop_backend.authentication.Dto.UserPointsDelta(l.user.userId, SUM(l.amount)) " +
+            "FROM PointsLedgerEntry l WHERE l.createdAt >= :from AND l.entryType <> :excluded GROUP BY l.user.userId")
+    List<UserPointsDelta> sumByUserSinceExcluding(@Param("from") LocalDateTime from,
+                                                  @Param("excluded") PointsEntryType excluded);
+}
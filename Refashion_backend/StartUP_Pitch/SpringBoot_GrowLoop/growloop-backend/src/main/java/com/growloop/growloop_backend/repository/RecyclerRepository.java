@@ -1,10 +1,12 @@
 package com.growloop.growloop_backend.repository;
 
 import com.growloop.growloop_backend.entity.Recycler;
+import com.growloop.growloop_backend.utilityFunctions.GeoUtils;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RecyclerRepository extends JpaRepository<Recycler, Long> {
@@ -26,6 +28,37 @@ public interface RecyclerRepository extends JpaRepository<Recycler, Long> {
             @Param("radiusKm") Double radiusKm
     );
 
+    // Same radius search, but MBRIntersects on the SPATIAL index limits the rows to the
+    // bounding box before the exact Haversine check trims the corners
+    @Query(value = "SELECT *, " +
+            "(6371 * acos(LEAST(1.0, cos(radians(:latitude)) * cos(radians(latitude)) * " +
+            "cos(radians(longitude) - radians(:longitude)) + " +
+            "sin(radians(:latitude)) * sin(radians(latitude))))) AS distance " +
+            "FROM recyclers " +
+            "WHERE MBRIntersects(ST_MakeEnvelope(POINT(:minLon, :minLat), POINT(:maxLon, :maxLat)), location) " +
+            "HAVING distance < :radiusKm " +
+            "ORDER BY distance", nativeQuery = true)
+    List<Recycler> findNearbyRecyclersWithinBox(
+            @Param("latitude") Double latitude,
+            @Param("longitude") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLon") Double minLon,
+            @Param("maxLon") Double maxLon
+    );
+
+    default List<Recycler> findNearbyRecyclersIndexed(Double latitude, Double longitude, Double radiusKm) {
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+        return findNearbyRecyclersWithinBox(
+                latitude, longitude, radiusKm,
+                box.minLat(), box.maxLat(), box.minLon(), box.maxLon()
+        );
+    }
+
+    // Rows touched since the last index refresh
+    List<Recycler> findByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
+
     // Find all recyclers ordered by rating
     List<Recycler> findAllByOrderByRatingDesc();
 }
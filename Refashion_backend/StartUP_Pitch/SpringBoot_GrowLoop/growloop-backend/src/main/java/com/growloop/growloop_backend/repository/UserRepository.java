@@ -2,6 +2,8 @@ package com.growloop.growloop_backend.repository;
 
 import com.growloop.growloop_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -19,5 +21,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Check if email already exists
     boolean existsByEmail(String email);
 
+    // Serializes balance-checked debits for one user
+    @Query(value = "SELECT * FROM users WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<User> lockById(@Param("userId") long userId);
+
 
 }
@@ -0,0 +1,112 @@
+package com.growloop.growloop_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Dictionary that turns Recycler.acceptedItems ("Denim, Cotton,Shoes") into a 64-bit mask,
+// so "accepts denim" becomes a single AND instead of a string split per row. Categories past the
+// 64th get no bit; they are kept as strings and matched exactly instead.
+@Slf4j
+public class AcceptedItemCategories {
+
+    private static final int MAX_CATEGORIES = Long.SIZE;
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    private final Set<String> overflow = ConcurrentHashMap.newKeySet();
+
+    // What a recycler must accept: all bits of mask plus every category in unmasked
+    public record Required(long mask, Set<String> unmasked) {
+    }
+
+    // Mask for a recycler's comma-separated list; new categories get the next free bit
+    public long maskOf(String acceptedItems) {
+        if (acceptedItems == null || acceptedItems.isBlank()) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String raw : acceptedItems.split(",")) {
+            String category = normalize(raw);
+            if (!category.isEmpty()) {
+                int bit = bitFor(category);
+                if (bit >= 0) {
+                    mask |= 1L << bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    // The recycler's categories that have no bit (empty unless the dictionary has filled up)
+    public Set<String> unmaskedOf(String acceptedItems) {
+        if (overflow.isEmpty() || acceptedItems == null || acceptedItems.isBlank()) {
+            return Set.of();
+        }
+        Set<String> unmasked = new HashSet<>();
+        for (String raw : acceptedItems.split(",")) {
+            String category = normalize(raw);
+            if (!category.isEmpty() && !bits.containsKey(category)) {
+                unmasked.add(category);
+            }
+        }
+        return unmasked.isEmpty() ? Set.of() : Set.copyOf(unmasked);
+    }
+
+    // Null if some category is accepted by no one
+    public Required required(Collection<String> categories) {
+        long mask = 0L;
+        Set<String> unmasked = new HashSet<>();
+        if (categories != null) {
+            for (String raw : categories) {
+                String category = normalize(raw);
+                if (category.isEmpty()) {
+                    continue;
+                }
+                Integer bit = bits.get(category);
+                if (bit != null) {
+                    mask |= 1L << bit;
+                } else if (overflow.contains(category)) {
+                    unmasked.add(category);
+                } else {
+                    return null;
+                }
+            }
+        }
+        return new Required(mask, unmasked.isEmpty() ? Set.of() : Set.copyOf(unmasked));
+    }
+
+    public int size() {
+        return bits.size();
+    }
+
+    // Categories that did not get a bit
+    public int overflowSize() {
+        return overflow.size();
+    }
+
+    private synchronized int bitFor(String category) {
+        Integer bit = bits.get(category);
+        if (bit != null) {
+            return bit;
+        }
+        if (bits.size() >= MAX_CATEGORIES) {
+            if (overflow.add(category)) {
+                log.warn("Accepted item category '{}' has no mask bit (dictionary is full at {}); "
+                        + "it is matched by name instead", category, MAX_CATEGORIES);
+            }
+            return -1;
+        }
+        int next = bits.size();
+        bits.put(category, next);
+        return next;
+    }
+
+    private static String normalize(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,268 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.repository.BagRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bag counters (total_items, points_awarded). By default every delta is an atomic UPDATE inside the
+// caller's transaction. With write-behind enabled, committed deltas collect in per-bag LongAdders and
+// go to the bags row as one UPDATE per bag every flush interval, or sooner once a bag has buffered
+// flush-threshold updates, so a hot shared bag takes one row lock per window instead of one per item.
+// Interval flushes run on the buffer's own thread, not the shared scheduler, so other jobs can't delay
+// them. A crash loses the deltas buffered since the last successful flush: one interval normally, more
+// while flushes are failing (growloop.bags.write-behind.failed).
+@Slf4j
+@Service
+public class BagCounterBuffer {
+
+    @Autowired
+    private BagRepository bagRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.bags.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${growloop.bags.write-behind.flush-threshold:100}")
+    private long flushThreshold;
+
+    @Value("${growloop.bags.write-behind.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private final ConcurrentHashMap<Long, PendingCounters> pending = new ConcurrentHashMap<>();
+
+    private TransactionTemplate flushTransaction;
+    private ScheduledExecutorService flusher;
+    private Counter flushedBags;
+    private Counter failedFlushes;
+
+    @PostConstruct
+    public void init() {
+        // Threshold flushes run from afterCommit, where the caller's transaction is finished but still bound
+        flushTransaction = new TransactionTemplate(transactionManager);
+        flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("growloop.bags.write-behind.pending", pending, Map::size)
+                .description("Bags with counter deltas not yet written to MySQL")
+                .register(meterRegistry);
+        flushedBags = Counter.builder("growloop.bags.write-behind.flushed")
+                .description("Per-bag counter UPDATEs issued by write-behind flushes")
+                .register(meterRegistry);
+        failedFlushes = Counter.builder("growloop.bags.write-behind.failed")
+                .description("Per-bag flushes that failed and were put back for the next window")
+                .register(meterRegistry);
+
+        if (enabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bag-counter-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void addItems(long bagId, int delta) {
+        if (!enabled) {
+            bagRepository.incrementTotalItems(bagId, delta);
+            return;
+        }
+        afterCommit(bagId, delta, 0);
+    }
+
+    public void addPoints(long bagId, int delta) {
+        if (!enabled) {
+            bagRepository.addPointsAwarded(bagId, delta);
+            return;
+        }
+        afterCommit(bagId, 0, delta);
+    }
+
+    // Buffered deltas not yet in the bags row; add them to the persisted counters when reading a bag
+    public PendingDelta pending(long bagId) {
+        PendingCounters counters = pending.get(bagId);
+        if (counters == null) {
+            return PendingDelta.NONE;
+        }
+        return new PendingDelta(
+                (int) (counters.items.sum() + counters.inFlightItems),
+                (int) (counters.points.sum() + counters.inFlightPoints));
+    }
+
+    // Write a bag's buffered deltas now, e.g. before a status change that depends on totalItems. Waits for
+    // a flush already running on the bag, and throws if the deltas can't be written, since the caller is
+    // about to act on the counters.
+    public void flush(long bagId) {
+        PendingCounters counters = pending.get(bagId);
+        if (counters == null) {
+            return;
+        }
+        counters.lock.lock();
+        try {
+            if (!write(bagId, counters, false)) {
+                throw new RuntimeException("Could not update the bag's item count, please try again");
+            }
+        } finally {
+            counters.lock.unlock();
+        }
+    }
+
+    public void flushAll() {
+        pending.forEach((bagId, counters) -> tryFlush(bagId, counters, true));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pending.forEach((bagId, counters) -> tryFlush(bagId, counters, false));
+        }
+    }
+
+    // Only committed work is buffered, so a rolled-back item never shows up in the counters
+    private void afterCommit(long bagId, int items, int points) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            buffer(bagId, items, points);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                buffer(bagId, items, points);
+            }
+        });
+    }
+
+    private void buffer(long bagId, int items, int points) {
+        while (true) {
+            PendingCounters counters = pending.computeIfAbsent(bagId, id -> new PendingCounters());
+            counters.items.add(items);
+            counters.points.add(points);
+            counters.updates.increment();
+            if (!counters.retired) {
+                if (counters.updates.sum() >= flushThreshold) {
+                    tryFlush(bagId, counters, false);
+                }
+                return;
+            }
+            // The flusher dropped this entry as idle after we got it; take the delta back and retry
+            counters.items.add(-items);
+            counters.points.add(-points);
+            counters.updates.decrement();
+        }
+    }
+
+    // Skips the bag when another thread is flushing it; that flush or the next one picks up our deltas
+    private void tryFlush(long bagId, PendingCounters counters, boolean evictIfIdle) {
+        if (!counters.lock.tryLock()) {
+            return;
+        }
+        try {
+            write(bagId, counters, evictIfIdle);
+        } finally {
+            counters.lock.unlock();
+        }
+    }
+
+    // Caller holds counters.lock. Returns false when the UPDATE failed; the deltas are then buffered again.
+    private boolean write(long bagId, PendingCounters counters, boolean evictIfIdle) {
+        long items = counters.items.sum();
+        long points = counters.points.sum();
+        long updates = counters.updates.sum();
+        if (items == 0 && points == 0) {
+            counters.updates.add(-updates);
+            if (evictIfIdle && updates == 0) {
+                evict(bagId, counters);
+            }
+            return true;
+        }
+
+        // Move the snapshot to in-flight so readers keep seeing it until the UPDATE commits;
+        // adds that race with the snapshot stay in the adders for the next flush
+        counters.inFlightItems = items;
+        counters.inFlightPoints = points;
+        counters.items.add(-items);
+        counters.points.add(-points);
+        counters.updates.add(-updates);
+        try {
+            flushTransaction.executeWithoutResult(status -> {
+                if (items != 0) {
+                    bagRepository.incrementTotalItems(bagId, (int) items);
+                }
+                if (points != 0) {
+                    bagRepository.addPointsAwarded(bagId, (int) points);
+                }
+            });
+            flushedBags.increment();
+        } catch (RuntimeException e) {
+            counters.items.add(items);
+            counters.points.add(points);
+            counters.updates.add(updates);
+            failedFlushes.increment();
+            log.warn("Could not flush counters for bag {}: {}", bagId, e.getMessage());
+            return false;
+        } finally {
+            counters.inFlightItems = 0;
+            counters.inFlightPoints = 0;
+        }
+        return true;
+    }
+
+    // Mark retired before re-checking: an add that lands after the check sees the flag and retries
+    private void evict(long bagId, PendingCounters counters) {
+        counters.retired = true;
+        if (counters.items.sum() != 0 || counters.points.sum() != 0 || counters.updates.sum() != 0) {
+            counters.retired = false;
+            return;
+        }
+        pending.remove(bagId, counters);
+    }
+
+    public record PendingDelta(int items, int points) {
+        public static final PendingDelta NONE = new PendingDelta(0, 0);
+    }
+
+    private static final class PendingCounters {
+        final LongAdder items = new LongAdder();
+        final LongAdder points = new LongAdder();
+        final LongAdder updates = new LongAdder();
+        // Held while the bag's deltas are being written
+        final ReentrantLock lock = new ReentrantLock();
+        volatile long inFlightItems;
+        volatile long inFlightPoints;
+        volatile boolean retired;
+    }
+}
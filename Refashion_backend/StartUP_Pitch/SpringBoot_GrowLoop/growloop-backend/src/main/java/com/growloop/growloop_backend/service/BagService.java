@@ -1,15 +1,25 @@
 package com.growloop.growloop_backend.service;
 import com.growloop.growloop_backend.authentication.Dto.BagCreateRequest;
 import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.BagSummaryDTO;
+import com.growloop.growloop_backend.authentication.Dto.BagSummaryRow;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
 import com.growloop.growloop_backend.entity.*;
 import com.growloop.growloop_backend.enumHelpers.BagPurpose;
 import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.event.BagChangedEvent;
 import com.growloop.growloop_backend.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,13 +32,28 @@ public class BagService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BagCounterBuffer bagCounterBuffer;
+
+    @Autowired
+    private ShareLinkRegistry shareLinkRegistry;
+
+    @Autowired
+    private FreePickupEligibilityTracker freePickupEligibilityTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
     // Create new bag
-    public BagResponseDTO createBag(String firebaseUid, BagCreateRequest request) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public BagResponseDTO createBag(UserPrincipal principal, BagCreateRequest request) {
+        User user = userRepository.getReferenceById(principal.userId());
 
         Bag bag = Bag.builder()
                 .bagName(request.getBagName())
+                .sharableLink(shareLinkRegistry.newToken())
                 .user(user)
                 .status(BagStatus.OPEN)
                 .totalItems(0)
@@ -38,27 +63,78 @@ public class BagService {
                 .build();
 
         Bag savedBag = bagRepository.save(bag);
-        return BagResponseDTO.fromBag(savedBag);
+        eventPublisher.publishEvent(new BagChangedEvent(savedBag.getBagId(), principal.userId(), savedBag.getStatus(), 0, 0));
+        BagResponseDTO response = BagResponseDTO.fromBag(savedBag, principal.userName(), 0, 0);
+        outboxService.append(DomainEventType.BAG_CREATED, savedBag.getBagId(), response);
+        return response;
     }
 
     // Get user's bags
-    public List<BagResponseDTO> getUserBags(String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public List<BagResponseDTO> getUserBags(UserPrincipal principal) {
+        User user = userRepository.getReferenceById(principal.userId());
 
-        List<Bag> bags = bagRepository.findByUserOrderByCreatedAtDesc(user);
+        List<Bag> bags = bagRepository.findByUserWithOwner(user);
         return bags.stream()
-                .map(BagResponseDTO::fromBag)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
-    public List<BagResponseDTO> getUserBagsByPurpose(String firebaseUid, BagPurpose purpose) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public List<BagResponseDTO> getUserBagsByPurpose(UserPrincipal principal, BagPurpose purpose) {
+        User user = userRepository.getReferenceById(principal.userId());
+
+        List<Bag> bags = bagRepository.findByUserAndPurposeWithOwner(user, purpose);
+        return bags.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
 
-        List<Bag> bags = bagRepository.findByUserAndPurposeOrderByCreatedAtDesc(user, purpose);
+    // One page of the user's bags, newest first, optionally for one purpose
+    public List<BagResponseDTO> getUserBagsPage(UserPrincipal principal, BagPurpose purpose, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<Bag> bags = purpose == null
+                ? bagRepository.findPageByUser(principal.userId(), pageRequest)
+                : bagRepository.findPageByUserAndPurpose(principal.userId(), purpose, pageRequest);
         return bags.stream()
-                .map(BagResponseDTO::fromBag)
+                .map(bag -> toResponse(bag, principal.userName()))
+                .collect(Collectors.toList());
+    }
+
+    // Per-status and per-purpose counts from one GROUP BY; counters still buffered by write-behind
+    // are not included
+    @Transactional(readOnly = true)
+    public BagSummaryDTO getUserBagSummary(UserPrincipal principal) {
+        Map<String, BagSummaryDTO.Totals> byStatus = new LinkedHashMap<>();
+        for (BagStatus status : BagStatus.values()) {
+            byStatus.put(status.name(), new BagSummaryDTO.Totals(0L, 0L, 0L));
+        }
+        Map<String, BagSummaryDTO.Totals> byPurpose = new LinkedHashMap<>();
+        for (BagPurpose purpose : BagPurpose.values()) {
+            byPurpose.put(purpose.name(), new BagSummaryDTO.Totals(0L, 0L, 0L));
+        }
+        BagSummaryDTO.Totals total = new BagSummaryDTO.Totals(0L, 0L, 0L);
+
+        for (BagSummaryRow row : bagRepository.summarizeByUser(principal.userId())) {
+            byStatus.get(row.getStatus().name()).add(row);
+            byPurpose.get(row.getPurpose().name()).add(row);
+            total.add(row);
+        }
+
+        BagSummaryDTO summary = new BagSummaryDTO();
+        summary.setTotal(total);
+        summary.setByStatus(byStatus);
+        summary.setByPurpose(byPurpose);
+        return summary;
+    }
+
+    // OPEN bags with enough items for a free pickup, from the tracker's id set instead of a table scan
+    @Transactional(readOnly = true)
+    public List<BagResponseDTO> getBagsEligibleForFreePickup() {
+        List<Long> bagIds = freePickupEligibilityTracker.eligibleBagIds();
+        if (bagIds.isEmpty()) {
+            return List.of();
+        }
+        return bagRepository.findAllByIdWithOwner(bagIds).stream()
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -68,12 +144,18 @@ public class BagService {
                 .orElseThrow(() -> new RuntimeException("Bag not found"));
 
         // Verify ownership or access (you can add more logic here)
-        return BagResponseDTO.fromBag(bag);
+        return toResponse(bag);
     }
 
-    // Get bag by shareable token (for community access)
+    // Get bag by shareable token (for community access). Unknown tokens are turned away by the registry's
+    // Bloom filter and hits are cached briefly, so no transaction (or connection) is opened up front.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BagResponseDTO getBagByShareToken(String shareToken) {
-        Bag bag = bagRepository.findBySharableLink(shareToken)
+        return shareLinkRegistry.resolve(shareToken, this::loadSharedBag);
+    }
+
+    private BagResponseDTO loadSharedBag(String shareToken) {
+        Bag bag = bagRepository.findBySharableLinkWithOwner(shareToken)
                 .orElseThrow(() -> new RuntimeException("Invalid or expired share link"));
 
         // Only allow access to OPEN bags
@@ -81,16 +163,18 @@ public class BagService {
             throw new RuntimeException("This bag is no longer accepting items");
         }
 
-        return BagResponseDTO.fromBag(bag);
+        return toResponse(bag);
     }
 
     // Schedule pickup
-    public BagResponseDTO schedulePickup(Long bagId, String firebaseUid) {
+    public BagResponseDTO schedulePickup(Long bagId, UserPrincipal principal) {
+        // canSchedulePickup reads totalItems, so write any buffered counters first
+        bagCounterBuffer.flush(bagId);
         Bag bag = bagRepository.findById(bagId)
                 .orElseThrow(() -> new RuntimeException("Bag not found"));
 
-        // Verify ownership
-        if (!bag.getUser().getFirebaseUid().equals(firebaseUid)) {
+        // Verify ownership; comparing ids doesn't load the owner row
+        if (bag.getUser().getUserId() != principal.userId()) {
             throw new RuntimeException("Not authorized to schedule pickup for this bag");
         }
 
@@ -99,27 +183,51 @@ public class BagService {
         }
 
         bag.schedulePickup();
+        shareLinkRegistry.evict(bag.getSharableLink());
         Bag updatedBag = bagRepository.save(bag);
-        return BagResponseDTO.fromBag(updatedBag);
+        eventPublisher.publishEvent(new BagChangedEvent(bagId, principal.userId(), updatedBag.getStatus(), 0, 0));
+        BagResponseDTO response = BagResponseDTO.fromBag(updatedBag, principal.userName(), 0, 0);
+        outboxService.append(DomainEventType.BAG_PICKUP_SCHEDULED, bagId, response);
+        return response;
     }
 
     // Update bag status (for internal use)
     public BagResponseDTO updateBagStatus(Long bagId, BagStatus newStatus) {
+        bagCounterBuffer.flush(bagId);
         Bag bag = bagRepository.findById(bagId)
                 .orElseThrow(() -> new RuntimeException("Bag not found"));
 
+        DomainEventType eventType;
         switch (newStatus) {
             case COLLECTED:
                 bag.markAsCollected();
+                eventType = DomainEventType.BAG_COLLECTED;
                 break;
             case CLOSED:
                 bag.markAsClosed();
+                eventType = DomainEventType.BAG_CLOSED;
                 break;
             default:
                 throw new RuntimeException("Invalid status transition");
         }
+        shareLinkRegistry.evict(bag.getSharableLink());
 
         Bag updatedBag = bagRepository.save(bag);
-        return BagResponseDTO.fromBag(updatedBag);
+        eventPublisher.publishEvent(new BagChangedEvent(
+                bagId, updatedBag.getUser().getUserId(), updatedBag.getStatus(), 0, 0));
+        BagResponseDTO response = BagResponseDTO.fromBag(updatedBag);
+        outboxService.append(eventType, bagId, response);
+        return response;
+    }
+
+    // Persisted counters plus whatever write-behind still holds for the bag
+    private BagResponseDTO toResponse(Bag bag) {
+        BagCounterBuffer.PendingDelta pending = bagCounterBuffer.pending(bag.getBagId());
+        return BagResponseDTO.fromBag(bag, pending.items(), pending.points());
+    }
+
+    private BagResponseDTO toResponse(Bag bag, String creatorName) {
+        BagCounterBuffer.PendingDelta pending = bagCounterBuffer.pending(bag.getBagId());
+        return BagResponseDTO.fromBag(bag, creatorName, pending.items(), pending.points());
     }
 }
@@ -0,0 +1,56 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.OutboxSubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Business counters fed from the outbox: events by type, grades handed out, and the size of bags when
+// they are collected. Counts are at-least-once, so a redelivered batch can count an event twice.
+@Service
+public class DomainEventAnalytics implements OutboxSubscriber {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return true;
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        Counter.builder("growloop.domain.events")
+                .description("Domain events delivered from the outbox")
+                .tag("type", event.type().name())
+                .register(meterRegistry)
+                .increment();
+
+        switch (event.type()) {
+            case ITEM_GRADED -> {
+                ItemResponseDTO item = event.payload(ItemResponseDTO.class);
+                Counter.builder("growloop.items.graded")
+                        .description("Items graded by QC, by grade and resulting status")
+                        .tag("grade", String.valueOf(item.getGrade()))
+                        .tag("status", String.valueOf(item.getStatus()))
+                        .register(meterRegistry)
+                        .increment();
+            }
+            case BAG_COLLECTED -> {
+                BagResponseDTO bag = event.payload(BagResponseDTO.class);
+                DistributionSummary.builder("growloop.bags.collected.items")
+                        .description("Items per collected bag")
+                        .tag("purpose", String.valueOf(bag.getPurpose()))
+                        .register(meterRegistry)
+                        .record(bag.getTotalItems());
+            }
+            default -> {
+            }
+        }
+    }
+}
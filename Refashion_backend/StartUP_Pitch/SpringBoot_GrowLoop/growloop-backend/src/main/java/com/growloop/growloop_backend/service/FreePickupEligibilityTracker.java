@@ -0,0 +1,208 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.OpenBagCount;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.event.BagChangedEvent;
+import com.growloop.growloop_backend.event.FreePickupEligibilityChangedEvent;
+import com.growloop.growloop_backend.repository.BagRepository;
+import com.growloop.growloop_backend.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Item counts of OPEN bags, kept from committed BagChangedEvents, and the set of those at or over the
+// free-pickup threshold (the rows findBagsEligibleForFreePickup would scan for). Crossing the threshold
+// in either direction publishes a FreePickupEligibilityChangedEvent. Loaded on startup and reconciled
+// against MySQL on a long interval, which also corrects anything changed outside this instance; both go
+// through SnapshotRebuild, keyed by the item an event added, so changes racing a reload count once.
+@Slf4j
+@Service
+public class FreePickupEligibilityTracker {
+
+    @Autowired
+    private BagRepository bagRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Guarded by lock; eligible is also read without it
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Long, OpenBag> openBags = new HashMap<>();
+    private final Set<Long> eligible = ConcurrentHashMap.newKeySet();
+
+    private SnapshotRebuild<BagChangedEvent> rebuilds;
+
+    // Eligibility changes found while holding the lock, published once it is released
+    private final List<FreePickupEligibilityChangedEvent> changes = new ArrayList<>();
+
+    private static final class OpenBag {
+        final long ownerId;
+        int items;
+
+        OpenBag(long ownerId, int items) {
+            this.ownerId = ownerId;
+            this.items = items;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuilds = new SnapshotRebuild<>(transactionManager, lock, BagChangedEvent::itemId);
+        Gauge.builder("growloop.bags.free-pickup.eligible", eligible, Set::size)
+                .description("OPEN bags with enough items for a free pickup")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${growloop.bags.free-pickup.reconcile-interval-ms:600000}",
+            initialDelayString = "${growloop.bags.free-pickup.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        reload();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBagChanged(BagChangedEvent event) {
+        lock.lock();
+        try {
+            if (!rebuilds.holdIfRebuilding(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+        publishChanges();
+    }
+
+    public List<Long> eligibleBagIds() {
+        return new ArrayList<>(eligible);
+    }
+
+    // Replace the counts with MySQL's and report every bag whose eligibility differs from what was tracked.
+    // Only runs on startup and from the scheduled reconcile.
+    public void reload() {
+        try {
+            boolean reloaded = rebuilds.rebuild(
+                    this::loadOpenBags,
+                    itemRepository::findMaxItemId,
+                    itemRepository::findExistingItemIds,
+                    this::install,
+                    this::apply);
+            if (reloaded) {
+                log.info("Free-pickup tracker loaded: {} open bags, {} eligible", openBagCount(), eligible.size());
+            }
+        } catch (Exception e) {
+            log.warn("Free-pickup tracker reload failed: {}", e.getMessage());
+        }
+        publishChanges();
+    }
+
+    private Map<Long, OpenBag> loadOpenBags() {
+        Map<Long, OpenBag> loaded = new HashMap<>();
+        for (OpenBagCount row : bagRepository.findOpenBagCounts()) {
+            loaded.put(row.getBagId(), new OpenBag(row.getOwnerId(), row.getTotalItems().intValue()));
+        }
+        return loaded;
+    }
+
+    private int openBagCount() {
+        lock.lock();
+        try {
+            return openBags.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void install(Map<Long, OpenBag> loaded) {
+        for (Long bagId : eligible) {
+            OpenBag bag = loaded.get(bagId);
+            if (bag == null || bag.items < Bag.FREE_PICKUP_MIN_ITEMS) {
+                eligible.remove(bagId);
+                OpenBag tracked = bag != null ? bag : openBags.get(bagId);
+                changes.add(new FreePickupEligibilityChangedEvent(bagId,
+                        tracked != null ? tracked.ownerId : 0, bag != null ? bag.items : 0, false));
+            }
+        }
+        loaded.forEach((bagId, bag) -> {
+            if (bag.items >= Bag.FREE_PICKUP_MIN_ITEMS && eligible.add(bagId)) {
+                changes.add(new FreePickupEligibilityChangedEvent(bagId, bag.ownerId, bag.items, true));
+            }
+        });
+        openBags = loaded;
+    }
+
+    private void publishChanges() {
+        List<FreePickupEligibilityChangedEvent> published;
+        lock.lock();
+        try {
+            if (changes.isEmpty()) {
+                return;
+            }
+            published = new ArrayList<>(changes);
+            changes.clear();
+        } finally {
+            lock.unlock();
+        }
+        published.forEach(eventPublisher::publishEvent);
+    }
+
+    // Caller holds the lock
+    private void apply(BagChangedEvent event) {
+        long bagId = event.bagId();
+        if (event.status() != BagStatus.OPEN) {
+            OpenBag removed = openBags.remove(bagId);
+            if (eligible.remove(bagId)) {
+                changes.add(new FreePickupEligibilityChangedEvent(bagId, event.ownerId(),
+                        removed != null ? removed.items : 0, false));
+            }
+            return;
+        }
+
+        // Bags created after the last load start at zero with their creation event
+        OpenBag bag = openBags.computeIfAbsent(bagId, id -> new OpenBag(event.ownerId(), 0));
+        boolean wasEligible = bag.items >= Bag.FREE_PICKUP_MIN_ITEMS;
+        bag.items += event.itemDelta();
+        boolean isEligible = bag.items >= Bag.FREE_PICKUP_MIN_ITEMS;
+        if (isEligible != wasEligible) {
+            if (isEligible) {
+                eligible.add(bagId);
+            } else {
+                eligible.remove(bagId);
+            }
+            changes.add(new FreePickupEligibilityChangedEvent(bagId, bag.ownerId, bag.items, isEligible));
+        }
+    }
+}
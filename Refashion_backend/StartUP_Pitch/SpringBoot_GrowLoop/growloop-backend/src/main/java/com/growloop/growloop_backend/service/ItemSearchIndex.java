@@ -0,0 +1,363 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemSearchHitDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemSearchResponseDTO;
+import com.growloop.growloop_backend.enumHelpers.items.ItemGrade;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.MarketplaceReadModelRebuiltEvent;
+import com.growloop.growloop_backend.event.OutboxTailListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Embedded Lucene index over listable items for full-text search with facet counts.
+// Loaded from the marketplace read model (never from MySQL) and kept current by the item events on this
+// instance's OutboxTail, so every instance's index follows writes made anywhere; a restart reloads from the
+// read model. A scheduled refresh makes writes visible to searchers within growloop.search.refresh-interval-ms.
+@Slf4j
+@Service
+public class ItemSearchIndex implements OutboxTailListener {
+
+    public static final List<String> FACET_DIMENSIONS = List.of("gender", "ageGroup", "itemType");
+
+    private static final int FACET_TOP_N = 20;
+
+    // Item type carries the most intent ("jacket"), the description the least
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(
+            "itemType", 3.0f,
+            "gender", 1.5f,
+            "ageGroup", 1.5f,
+            "conditionDescription", 1.0f
+    );
+
+    @Autowired
+    private MarketplaceReadModel marketplaceReadModel;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final Directory directory = new ByteBuffersDirectory();
+
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    // Serializes full reloads against incremental updates; searches never take it
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Facet ordinals are per reader, so they are rebuilt only when a refresh opened a new one
+    private volatile FacetState facetState;
+
+    private Timer searchTimer;
+
+    @PostConstruct
+    public void open() throws IOException {
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        searcherManager = new SearcherManager(writer, new SearcherFactory());
+
+        Gauge.builder("growloop.search.index.size", this, index -> index.size())
+                .description("Items held in the search index")
+                .register(meterRegistry);
+        searchTimer = Timer.builder("growloop.search.query")
+                .description("Full-text + facet search latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @EventListener
+    public void onReadModelRebuilt(MarketplaceReadModelRebuiltEvent event) {
+        writeLock.lock();
+        try {
+            writer.deleteAll();
+            for (ItemResponseDTO item : marketplaceReadModel.all()) {
+                writer.addDocument(toDocument(item));
+            }
+            searcherManager.maybeRefresh();
+            log.info("Search index loaded: {} items", event.size());
+        } catch (IOException e) {
+            log.warn("Search index load failed: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Events carry the item as committed, so each is an upsert or a delete by id
+    @Override
+    public void onOutboxEvents(List<DomainEvent> events) {
+        writeLock.lock();
+        try {
+            for (DomainEvent event : events) {
+                if (event.payload() instanceof ItemResponseDTO item) {
+                    apply(item);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Caller holds writeLock
+    private void apply(ItemResponseDTO item) {
+        Term id = new Term("id", String.valueOf(item.getItemId()));
+        try {
+            if (ItemGrade.A.name().equals(item.getGrade()) && ItemStatus.APPROVED.name().equals(item.getStatus())) {
+                writer.updateDocument(id, toDocument(item));
+            } else {
+                writer.deleteDocuments(id);
+            }
+        } catch (IOException e) {
+            log.warn("Search index update for item {} failed: {}", item.getItemId(), e.getMessage());
+        }
+    }
+
+    // Near-real-time: open a new searcher over the writer's buffered changes
+    @Scheduled(fixedDelayString = "${growloop.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Ranked hits for the query text (all items when blank) narrowed by exact facet values, plus facet
+    // counts over everything that matched
+    public ItemSearchResponseDTO search(String text, Map<String, String> filters, int from, int size) {
+        return searchTimer.record(() -> {
+            IndexSearcher searcher = null;
+            try {
+                searcher = searcherManager.acquire();
+                Query query = textQuery(text);
+                if (!filters.isEmpty()) {
+                    DrillDownQuery drillDown = new DrillDownQuery(facetsConfig, query);
+                    filters.forEach(drillDown::add);
+                    query = drillDown;
+                }
+
+                // Top hits and the facet collector from one pass over the matches
+                FacetsCollectorManager.FacetsResult result = FacetsCollectorManager.search(
+                        searcher, query, from + size, new FacetsCollectorManager());
+                TopDocs topDocs = result.topDocs();
+                FacetsCollector facetsCollector = result.facetsCollector();
+
+                StoredFields storedFields = searcher.storedFields();
+                List<ItemSearchHitDTO> hits = new ArrayList<>(size);
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = from; i < scoreDocs.length; i++) {
+                    hits.add(new ItemSearchHitDTO(toItem(storedFields.document(scoreDocs[i].doc)), scoreDocs[i].score));
+                }
+
+                ItemSearchResponseDTO response = new ItemSearchResponseDTO();
+                response.setTotalHits(topDocs.totalHits.value);
+                response.setHits(hits);
+                response.setFacets(facetCounts(searcher, facetsCollector));
+                return response;
+            } catch (IOException e) {
+                throw new RuntimeException("Search failed: " + e.getMessage());
+            } finally {
+                release(searcher);
+            }
+        });
+    }
+
+    private Query textQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return new MatchAllDocsQuery();
+        }
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean any = false;
+        for (Map.Entry<String, Float> field : SEARCH_FIELDS.entrySet()) {
+            Query fieldQuery = builder.createBooleanQuery(field.getKey(), text);
+            if (fieldQuery != null) {
+                query.add(new BoostQuery(fieldQuery, field.getValue()), BooleanClause.Occur.SHOULD);
+                any = true;
+            }
+        }
+        // Only stop words: nothing can match
+        return any ? query.build() : new BooleanQuery.Builder().build();
+    }
+
+    private Map<String, Map<String, Long>> facetCounts(IndexSearcher searcher, FacetsCollector collector)
+            throws IOException {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        IndexReader reader = searcher.getIndexReader();
+        if (reader.numDocs() == 0) {
+            return counts;
+        }
+
+        FacetState state = facetState;
+        if (state == null || state.reader() != reader) {
+            state = new FacetState(reader, new DefaultSortedSetDocValuesReaderState(reader, facetsConfig));
+            facetState = state;
+        }
+
+        Facets facets = new SortedSetDocValuesFacetCounts(state.state(), collector);
+        for (String dimension : FACET_DIMENSIONS) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            FacetResult result = state.hasDimension(dimension) ? facets.getTopChildren(FACET_TOP_N, dimension) : null;
+            if (result != null) {
+                for (LabelAndValue labelAndValue : result.labelValues) {
+                    values.put(labelAndValue.label, labelAndValue.value.longValue());
+                }
+            }
+            counts.put(dimension, values);
+        }
+        return counts;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Could not release searcher: {}", e.getMessage());
+        }
+    }
+
+    private Document toDocument(ItemResponseDTO item) throws IOException {
+        Document document = new Document();
+        document.add(new StringField("id", String.valueOf(item.getItemId()), Field.Store.YES));
+        addText(document, "itemType", item.getItemType());
+        addText(document, "conditionDescription", item.getConditionDescription());
+        addText(document, "gender", item.getGender());
+        addText(document, "ageGroup", item.getAgeGroup());
+
+        addFacet(document, "gender", item.getGender());
+        addFacet(document, "ageGroup", item.getAgeGroup());
+        addFacet(document, "itemType", item.getItemType());
+
+        // Everything ItemResponseDTO needs, so hits are answered from the index alone
+        if (item.getBagId() != null) {
+            document.add(new StoredField("bagId", item.getBagId()));
+        }
+        addStored(document, "bagName", item.getBagName());
+        document.add(new StoredField("contributorId", item.getContributorId()));
+        addStored(document, "contributorName", item.getContributorName());
+        addStored(document, "loyaltyPoint", item.getLoyaltyPoint() != null ? item.getLoyaltyPoint().toPlainString() : null);
+        addStored(document, "addedAt", item.getAddedAt() != null ? item.getAddedAt().toString() : null);
+        return facetsConfig.build(document);
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static void addFacet(Document document, String dimension, String value) {
+        if (value != null && !value.isEmpty()) {
+            document.add(new SortedSetDocValuesFacetField(dimension, value));
+        }
+    }
+
+    private static void addStored(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new StoredField(field, value));
+        }
+    }
+
+    private static ItemResponseDTO toItem(Document document) {
+        ItemResponseDTO dto = new ItemResponseDTO();
+        dto.setItemId(Long.parseLong(document.get("id")));
+        dto.setBagId(numericValue(document, "bagId"));
+        dto.setBagName(document.get("bagName"));
+        dto.setContributorId(numericValue(document, "contributorId"));
+        dto.setContributorName(document.get("contributorName"));
+        dto.setItemType(document.get("itemType"));
+        dto.setConditionDescription(document.get("conditionDescription"));
+        dto.setGender(document.get("gender"));
+        dto.setAgeGroup(document.get("ageGroup"));
+        dto.setGrade(ItemGrade.A.name());
+        dto.setGradeDisplayName(ItemGrade.A.getDisplayName());
+        dto.setStatus(ItemStatus.APPROVED.name());
+        dto.setStatusDisplayName(ItemStatus.APPROVED.getDisplayName());
+        String loyaltyPoint = document.get("loyaltyPoint");
+        dto.setLoyaltyPoint(loyaltyPoint != null ? new BigDecimal(loyaltyPoint) : null);
+        String addedAt = document.get("addedAt");
+        dto.setAddedAt(addedAt != null ? LocalDateTime.parse(addedAt) : null);
+        dto.setIsGradeA(true);
+        dto.setIsReadyForListing(true);
+        return dto;
+    }
+
+    private static Long numericValue(Document document, String field) {
+        Number value = document.getField(field) != null ? document.getField(field).numericValue() : null;
+        return value != null ? value.longValue() : null;
+    }
+
+    private record FacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+        boolean hasDimension(String dimension) {
+            return state.getOrdRange(dimension) != null;
+        }
+    }
+}
@@ -1,18 +1,37 @@
 package com.growloop.growloop_backend.service;
 
+import com.growloop.growloop_backend.authentication.Dto.BatchGradeRequest;
+import com.growloop.growloop_backend.authentication.Dto.BatchGradeResultDTO;
 import com.growloop.growloop_backend.authentication.Dto.ItemCreateRequest;
 import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemSearchResponseDTO;
 import com.growloop.growloop_backend.authentication.Dto.ItemUpdateRequest;
+import com.growloop.growloop_backend.authentication.Dto.MarketplacePageDTO;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
 import com.growloop.growloop_backend.entity.*;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
 import com.growloop.growloop_backend.enumHelpers.items.ItemGrade;
 import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.event.BagChangedEvent;
 import com.growloop.growloop_backend.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,15 +47,32 @@ public class ItemService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BagCounterBuffer bagCounterBuffer;
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
+    @Autowired
+    private MarketplaceReadModel marketplaceReadModel;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
     // Add item to bag
-    public ItemResponseDTO addItemToBag(Long bagId, String contributorFirebaseUid, ItemCreateRequest request) {
+    public ItemResponseDTO addItemToBag(Long bagId, UserPrincipal principal, ItemCreateRequest request) {
         // Find bag
         Bag bag = bagRepository.findById(bagId)
                 .orElseThrow(() -> new RuntimeException("Bag not found"));
 
-        // Find contributor
-        User contributor = userRepository.findByFirebaseUid(contributorFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Contributor is already resolved; a reference is enough for the foreign key
+        User contributor = userRepository.getReferenceById(principal.userId());
 
         // Check if bag accepts items
         if (!bag.canAddItems()) {
@@ -44,7 +80,44 @@ public class ItemService {
         }
 
         // Create item
-        Item item = Item.builder()
+        Item savedItem = itemRepository.save(newBagItem(bag, contributor, request));
+
+        // Update bag's total items count; an atomic SQL delta, or buffered when write-behind is on
+        bagCounterBuffer.addItems(bag.getBagId(), 1);
+        eventPublisher.publishEvent(new BagChangedEvent(
+                bag.getBagId(), bag.getUser().getUserId(), bag.getStatus(), 1, savedItem.getItemId()));
+
+        return published(ItemResponseDTO.fromItem(savedItem, principal.userName()), DomainEventType.ITEM_CREATED);
+    }
+
+    // Add several items to a bag in one transaction (drop-off events); inserts go out as JDBC batches
+    public List<ItemResponseDTO> addItemsToBag(Long bagId, UserPrincipal principal, List<ItemCreateRequest> requests) {
+        Bag bag = bagRepository.findById(bagId)
+                .orElseThrow(() -> new RuntimeException("Bag not found"));
+
+        User contributor = userRepository.getReferenceById(principal.userId());
+
+        if (!bag.canAddItems()) {
+            throw new RuntimeException("This bag is no longer accepting items");
+        }
+
+        List<Item> items = requests.stream()
+                .map(request -> newBagItem(bag, contributor, request))
+                .collect(Collectors.toList());
+        List<Item> savedItems = itemRepository.saveAll(items);
+
+        // One bag update for the whole batch
+        bagCounterBuffer.addItems(bag.getBagId(), savedItems.size());
+        eventPublisher.publishEvent(new BagChangedEvent(bag.getBagId(), bag.getUser().getUserId(), bag.getStatus(),
+                savedItems.size(), savedItems.isEmpty() ? 0 : savedItems.get(0).getItemId()));
+
+        return savedItems.stream()
+                .map(item -> published(ItemResponseDTO.fromItem(item, principal.userName()), DomainEventType.ITEM_CREATED))
+                .collect(Collectors.toList());
+    }
+
+    private Item newBagItem(Bag bag, User contributor, ItemCreateRequest request) {
+        return Item.builder()
                 .bag(bag)
                 .contributor(contributor)
                 .itemType(request.getItemType())
@@ -55,21 +128,11 @@ public class ItemService {
                 .status(ItemStatus.PENDING_QC)
                 .loyaltyPoint(BigDecimal.ZERO)
                 .build();
-
-        Item savedItem = itemRepository.save(item);
-
-        // Update bag's total items count
-        bag.addItem();
-        bagRepository.save(bag);
-
-        return ItemResponseDTO.fromItem(savedItem);
     }
 
     // Add item for direct recycling (no bag)
-    public ItemResponseDTO addItemForRecycling(String contributorFirebaseUid, ItemCreateRequest request) {
-        // Find contributor
-        User contributor = userRepository.findByFirebaseUid(contributorFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ItemResponseDTO addItemForRecycling(UserPrincipal principal, ItemCreateRequest request) {
+        User contributor = userRepository.getReferenceById(principal.userId());
 
         // Create item for recycling (no bag association)
         Item item = Item.builder()
@@ -85,7 +148,7 @@ public class ItemService {
                 .build();
 
         Item savedItem = itemRepository.save(item);
-        return ItemResponseDTO.fromItem(savedItem);
+        return published(ItemResponseDTO.fromItem(savedItem, principal.userName()), DomainEventType.ITEM_CREATED);
     }
 
     // Get items in a bag
@@ -93,40 +156,154 @@ public class ItemService {
         Bag bag = bagRepository.findById(bagId)
                 .orElseThrow(() -> new RuntimeException("Bag not found"));
 
-        List<Item> items = itemRepository.findByBagOrderByAddedAtDesc(bag);
+        List<Item> items = itemRepository.findByBagWithDetails(bag);
         return items.stream()
                 .map(ItemResponseDTO::fromItem)
                 .collect(Collectors.toList());
     }
 
     // Get user's items (across all bags)
-    public List<ItemResponseDTO> getUserItems(String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public List<ItemResponseDTO> getUserItems(UserPrincipal principal) {
+        User user = userRepository.getReferenceById(principal.userId());
 
-        List<Item> items = itemRepository.findAllByContributor(user);
+        List<Item> items = itemRepository.findAllByContributorWithDetails(user);
         return items.stream()
                 .map(ItemResponseDTO::fromItem)
                 .collect(Collectors.toList());
     }
 
     // Get user's recycling items (items without bags)
-    public List<ItemResponseDTO> getUserRecyclingItems(String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Pageable.unpaged() returns the whole list (clients that send no paging parameters)
+    public List<ItemResponseDTO> getUserRecyclingItems(UserPrincipal principal, Pageable pageable) {
+        User user = userRepository.getReferenceById(principal.userId());
 
-        List<Item> items = itemRepository.findAllByContributor(user);
+        // Recycling items have no bag; the filter runs in the database
+        List<Item> items = itemRepository.findRecyclingItemsByContributor(user, pageable);
         return items.stream()
-                .filter(item -> item.getBag() == null) // Recycling items have no bag
                 .map(ItemResponseDTO::fromItem)
                 .collect(Collectors.toList());
     }
 
     // Update item (for QC team)
+    @Transactional(timeoutString = "${growloop.points.posting-timeout-s:60}")
     public ItemResponseDTO updateItem(Long itemId, ItemUpdateRequest request) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new RuntimeException("Item not found"));
 
+        int pointsBefore = wholePoints(item.getLoyaltyPoint());
+        int earnedBefore = PointsLedgerService.earnedPoints(item);
+        applyUpdate(item, request);
+        Item updatedItem = itemRepository.save(item);
+
+        // Approval (or a later regrade) credits the contributor's points ledger
+        PointsLedgerEntry entry = PointsLedgerService.itemEntry(item, earnedBefore);
+        if (entry != null) {
+            pointsLedgerService.post(List.of(entry));
+        }
+
+        // Update bag's total points if item belongs to a bag
+        int pointsDelta = wholePoints(item.getLoyaltyPoint()) - pointsBefore;
+        if (item.getBag() != null && pointsDelta != 0) {
+            bagCounterBuffer.addPoints(item.getBag().getBagId(), pointsDelta);
+        }
+
+        return published(ItemResponseDTO.fromItem(updatedItem), DomainEventType.ITEM_GRADED);
+    }
+
+    // Grade from the direct QC endpoint. The row lock orders this against work-queue claims; an item leased
+    // to another grader is refused, and a lease the caller held ends with the grade.
+    @Transactional(timeoutString = "${growloop.points.posting-timeout-s:60}")
+    public ItemResponseDTO gradeItem(Long itemId, String graderId, ItemUpdateRequest request) {
+        Item item = itemRepository.lockById(itemId)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        if (item.isQcLeasedToOther(graderId, LocalDateTime.now())) {
+            throw new RuntimeException("Item is leased to another QC grader");
+        }
+        item.clearQcLease();
+        return updateItem(itemId, request);
+    }
+
+    // Grade many items in one transaction. Each item succeeds or fails on its own, and every affected
+    // bag gets a single points update at the end instead of one per item; ledger entries go out as one batch.
+    // Items leased to another grader through the QC work queue are reported as failures.
+    @Transactional(timeoutString = "${growloop.points.posting-timeout-s:60}")
+    public BatchGradeResultDTO gradeItems(List<BatchGradeRequest.Entry> grades, String graderId) {
+        List<Long> itemIds = grades.stream()
+                .map(BatchGradeRequest.Entry::getItemId)
+                .collect(Collectors.toList());
+        if (!itemIds.isEmpty()) {
+            itemRepository.lockAllById(itemIds);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Item> items = new HashMap<>();
+        for (Item item : itemRepository.findByItemIdInWithDetails(itemIds)) {
+            items.put(item.getItemId(), item);
+        }
+
+        List<BatchGradeResultDTO.ItemResult> results = new ArrayList<>(grades.size());
+        Set<Long> seen = new HashSet<>();
+        Map<Long, Integer> bagPointDeltas = new LinkedHashMap<>();
+        List<PointsLedgerEntry> ledgerEntries = new ArrayList<>();
+        List<Item> graded = new ArrayList<>();
+        for (BatchGradeRequest.Entry grade : grades) {
+            Item item = items.get(grade.getItemId());
+            String problem = item == null ? "Item not found"
+                    : !seen.add(grade.getItemId()) ? "Item appears more than once in the batch"
+                    : item.isQcLeasedToOther(graderId, now) ? "Item is leased to another QC grader"
+                    : validateUpdate(grade.getUpdate());
+            if (problem != null) {
+                results.add(new BatchGradeResultDTO.ItemResult(grade.getItemId(), false, problem, null));
+                continue;
+            }
+
+            int pointsBefore = wholePoints(item.getLoyaltyPoint());
+            int earnedBefore = PointsLedgerService.earnedPoints(item);
+            applyUpdate(item, grade.getUpdate());
+            item.clearQcLease();
+            graded.add(item);
+            PointsLedgerEntry entry = PointsLedgerService.itemEntry(item, earnedBefore);
+            if (entry != null) {
+                ledgerEntries.add(entry);
+            }
+            if (item.getBag() != null) {
+                bagPointDeltas.merge(item.getBag().getBagId(),
+                        wholePoints(item.getLoyaltyPoint()) - pointsBefore, Integer::sum);
+            }
+            results.add(new BatchGradeResultDTO.ItemResult(grade.getItemId(), true, "Item updated successfully", null));
+        }
+        itemRepository.saveAll(graded);
+        pointsLedgerService.post(ledgerEntries);
+
+        bagPointDeltas.forEach((bagId, delta) -> {
+            if (delta != 0) {
+                bagCounterBuffer.addPoints(bagId, delta);
+            }
+        });
+
+        int succeeded = 0;
+        for (BatchGradeResultDTO.ItemResult result : results) {
+            if (result.getSuccess()) {
+                result.setItem(published(ItemResponseDTO.fromItem(items.get(result.getItemId())), DomainEventType.ITEM_GRADED));
+                succeeded++;
+            }
+        }
+
+        BatchGradeResultDTO response = new BatchGradeResultDTO();
+        response.setSucceeded(succeeded);
+        response.setFailed(results.size() - succeeded);
+        response.setResults(results);
+        return response;
+    }
+
+    // Problems that would otherwise fail the whole transaction at flush time
+    private static String validateUpdate(ItemUpdateRequest request) {
+        if (request.getLoyaltyPoint() != null && request.getLoyaltyPoint().signum() < 0) {
+            return "Loyalty points cannot be negative";
+        }
+        return null;
+    }
+
+    private static void applyUpdate(Item item, ItemUpdateRequest request) {
         // Update grade and status
         if (request.getGrade() != null) {
             item.setGrade(request.getGrade());
@@ -139,35 +316,109 @@ public class ItemService {
         if (request.getLoyaltyPoint() != null) {
             item.setLoyaltyPoint(request.getLoyaltyPoint());
         }
+    }
 
-        Item updatedItem = itemRepository.save(item);
-
-        // Update bag's total points if item belongs to a bag
-        if (item.getBag() != null) {
-            updateBagPoints(item.getBag());
-        }
-
-        return ItemResponseDTO.fromItem(updatedItem);
+    // The outbox row carries the committed item to every instance's marketplace read model, search index and
+    // live streams (OutboxTail), and once to analytics (OutboxPublisher)
+    private ItemResponseDTO published(ItemResponseDTO item, DomainEventType type) {
+        outboxService.append(type, item.getItemId(), item);
+        return item;
     }
 
-    // Helper method to update bag's total points
-    private void updateBagPoints(Bag bag) {
-        BigDecimal totalPoints = itemRepository.calculateTotalPointsForBag(bag);
-        bag.updatePointsAwarded(totalPoints.intValue());
-        bagRepository.save(bag);
+    // Bags award whole points per item: points_awarded is the sum of each item's integer part (0.5 + 0.5
+    // adds nothing), not the truncated sum. That keeps it equal to the whole points the contributor's ledger is
+    // credited per item (PointsLedgerService.earnedPoints) and lets every grade apply as an atomic delta.
+    static int wholePoints(BigDecimal points) {
+        return points != null ? points.intValue() : 0;
     }
 
     // Get items ready for marketplace
     public List<ItemResponseDTO> getItemsReadyForListing() {
-        List<Item> items = itemRepository.findItemsReadyForListing();
+        if (marketplaceReadModel.isLoaded()) {
+            return marketplaceReadModel.all();
+        }
+        List<Item> items = itemRepository.findItemsReadyForListingWithDetails();
         return items.stream()
                 .map(ItemResponseDTO::fromItem)
                 .collect(Collectors.toList());
     }
 
+    // Get one page of marketplace items, newest first; cursor is the nextCursor of the previous page
+    public MarketplacePageDTO getMarketplacePage(String cursor, int size, String itemType, String gender, String ageGroup) {
+        LocalDateTime cursorAddedAt = null;
+        Long cursorItemId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            cursorAddedAt = LocalDateTime.parse(position[0]);
+            cursorItemId = Long.parseLong(position[1]);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<ItemResponseDTO> items;
+        if (marketplaceReadModel.isLoaded()) {
+            items = marketplaceReadModel.page(cursorAddedAt, cursorItemId, size + 1, itemType, gender, ageGroup);
+        } else {
+            PageRequest limit = PageRequest.of(0, size + 1);
+            List<Item> entities = cursorAddedAt == null
+                    ? itemRepository.findListingFirstPage(itemType, gender, ageGroup, limit)
+                    : itemRepository.findListingPageAfter(itemType, gender, ageGroup, cursorAddedAt, cursorItemId, limit);
+            items = entities.stream()
+                    .map(ItemResponseDTO::fromItem)
+                    .collect(Collectors.toList());
+        }
+
+        boolean hasMore = items.size() > size;
+        if (hasMore) {
+            items = items.subList(0, size);
+        }
+
+        MarketplacePageDTO page = new MarketplacePageDTO();
+        page.setItems(items);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            ItemResponseDTO last = items.get(items.size() - 1);
+            page.setNextCursor(encodeCursor(last.getAddedAt(), last.getItemId()));
+        }
+        return page;
+    }
+
+    // Ranked full-text search with facet counts; served by the embedded index, not MySQL
+    public ItemSearchResponseDTO searchItems(String text, String itemType, String gender, String ageGroup,
+                                             int page, int size) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (itemType != null) {
+            filters.put("itemType", itemType);
+        }
+        if (gender != null) {
+            filters.put("gender", gender);
+        }
+        if (ageGroup != null) {
+            filters.put("ageGroup", ageGroup);
+        }
+        return itemSearchIndex.search(text, filters, page * size, size);
+    }
+
+    private String encodeCursor(LocalDateTime addedAt, Long itemId) {
+        String position = addedAt + "|" + itemId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
     // Get items pending QC
     public List<ItemResponseDTO> getItemsPendingQC() {
-        List<Item> items = itemRepository.findItemsPendingQC();
+        List<Item> items = itemRepository.findItemsPendingQCWithDetails();
         return items.stream()
                 .map(ItemResponseDTO::fromItem)
                 .collect(Collectors.toList());
@@ -0,0 +1,211 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.LeaderboardEntryDTO;
+import com.growloop.growloop_backend.authentication.Dto.UserPointsDelta;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.PointsEntryType;
+import com.growloop.growloop_backend.event.PointsPostedEvent;
+import com.growloop.growloop_backend.repository.PointsLedgerRepository;
+import com.growloop.growloop_backend.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Top contributors by earned points (redemptions don't lower a rank), all time and for the current
+// week starting Monday. Both boards live in memory and follow ledger entries committed on this instance
+// as they happen. Entries posted by other instances only arrive with a rebuild from the points ledger,
+// which runs on startup, every growloop.leaderboard.rebuild-interval-ms and at each week change, so
+// boards on different instances agree to within that interval. Rebuilds go through SnapshotRebuild so
+// an entry that commits while one runs is counted exactly once.
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    public enum Window { WEEK, ALL_TIME }
+
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RankedScoreboard allTime = new RankedScoreboard();
+    private RankedScoreboard week = new RankedScoreboard();
+    private LocalDateTime weekStart = currentWeekStart();
+
+    private SnapshotRebuild<PointsPostedEvent> rebuilds;
+
+    // Display names of ranked users, filled as top-N pages ask for them and dropped on rebuild
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        rebuilds = new SnapshotRebuild<>(transactionManager, lock.writeLock(), PointsPostedEvent::entryId);
+        Gauge.builder("growloop.leaderboard.size", this, service -> service.size(Window.ALL_TIME))
+                .description("Contributors with points on the all-time leaderboard")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public int size(Window window) {
+        lock.readLock().lock();
+        try {
+            return board(window).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPointsPosted(PointsPostedEvent event) {
+        if (event.entryType() == PointsEntryType.REDEEMED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!rebuilds.holdIfRebuilding(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntryDTO> top(Window window, int limit) {
+        List<RankedScoreboard.Ranked> ranked;
+        lock.readLock().lock();
+        try {
+            ranked = board(window).top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        loadNames(ranked.stream().map(RankedScoreboard.Ranked::userId).collect(Collectors.toSet()));
+        List<LeaderboardEntryDTO> result = new ArrayList<>(ranked.size());
+        for (RankedScoreboard.Ranked entry : ranked) {
+            result.add(new LeaderboardEntryDTO(entry.rank(), entry.userId(), names.get(entry.userId()), entry.score()));
+        }
+        return result;
+    }
+
+    // Rank is null when the user has no points in the window
+    public LeaderboardEntryDTO rankOf(Window window, long userId, String userName) {
+        lock.readLock().lock();
+        try {
+            RankedScoreboard board = board(window);
+            int rank = board.rank(userId);
+            return new LeaderboardEntryDTO(rank > 0 ? rank : null, userId, userName, board.score(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Picks up entries posted on other instances
+    @Scheduled(fixedDelayString = "${growloop.leaderboard.rebuild-interval-ms:60000}",
+            initialDelayString = "${growloop.leaderboard.rebuild-interval-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    // Start a new weekly board when the week turns over. Until then entries from the new week only count
+    // all time; the rebuild loads them into the new weekly board.
+    @Scheduled(fixedDelayString = "${growloop.leaderboard.week-check-interval-ms:60000}")
+    public void rollWeek() {
+        if (!currentWeekStart().equals(weekStart)) {
+            rebuild();
+        }
+    }
+
+    // Reload both boards from the ledger; only runs on startup and from the scheduler, one at a time
+    public void rebuild() {
+        try {
+            long start = System.nanoTime();
+            LocalDateTime newWeekStart = currentWeekStart();
+            boolean rebuilt = rebuilds.rebuild(
+                    () -> new Boards(load(LEDGER_START), load(newWeekStart), newWeekStart),
+                    pointsLedgerRepository::findMaxEntryId,
+                    pointsLedgerRepository::findExistingEntryIds,
+                    boards -> {
+                        allTime = boards.allTime();
+                        week = boards.week();
+                        weekStart = boards.weekStart();
+                        names.clear();
+                    },
+                    this::apply);
+            if (rebuilt) {
+                log.info("Leaderboard rebuilt: {} contributors all time, {} this week in {} ms",
+                        size(Window.ALL_TIME), size(Window.WEEK), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.warn("Leaderboard rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    private record Boards(RankedScoreboard allTime, RankedScoreboard week, LocalDateTime weekStart) {
+    }
+
+    private RankedScoreboard load(LocalDateTime from) {
+        RankedScoreboard board = new RankedScoreboard();
+        for (UserPointsDelta row : pointsLedgerRepository.sumByUserSinceExcluding(from, PointsEntryType.REDEEMED)) {
+            board.set(row.getUserId(), row.getAmount());
+        }
+        return board;
+    }
+
+    // Caller holds the write lock
+    private void apply(PointsPostedEvent event) {
+        allTime.add(event.userId(), event.amount());
+        if (!event.createdAt().isBefore(weekStart) && event.createdAt().isBefore(weekStart.plusWeeks(1))) {
+            week.add(event.userId(), event.amount());
+        }
+    }
+
+    private void loadNames(Set<Long> userIds) {
+        userIds.removeAll(names.keySet());
+        if (!userIds.isEmpty()) {
+            for (User user : userRepository.findAllById(userIds)) {
+                names.put(user.getUserId(), user.getUserName() != null ? user.getUserName() : "");
+            }
+        }
+    }
+
+    private RankedScoreboard board(Window window) {
+        return window == Window.WEEK ? week : allTime;
+    }
+
+    private static LocalDateTime currentWeekStart() {
+        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+}
@@ -0,0 +1,316 @@
+package com.growloop.growloop_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.growloop.growloop_backend.authentication.Dto.BagCountersRow;
+import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.LiveUpdateDTO;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.OutboxTailListener;
+import com.growloop.growloop_backend.repository.BagRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user Server-Sent Event streams fed from the outbox: bag owners get their bags' status and counters,
+// contributors their items' grade and status. Events come from this instance's OutboxTail, so a stream sees
+// changes made on any instance, whether or not this one runs OutboxPublisher.
+// Streams are async servlet responses (SseEmitter), so an idle connection holds no thread. Each user keeps a
+// short replay buffer for Last-Event-ID reconnects; event ids are "<process epoch>-<sequence>", and a
+// reconnect this process can't fill gets a "resync" event telling the client to reload its lists. Sends run
+// on a few single-threaded senders picked by user id, which keeps each user's events in order and keeps slow
+// clients off the tail's thread.
+@Slf4j
+@Service
+public class LiveUpdateHub implements OutboxTailListener {
+
+    public static final String UPDATE_EVENT = "update";
+    public static final String RESYNC_EVENT = "resync";
+
+    @Autowired
+    private BagRepository bagRepository;
+
+    @Autowired
+    private BagCounterBuffer bagCounterBuffer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${growloop.live.replay-size:100}")
+    private int replaySize;
+
+    @Value("${growloop.live.retention-ms:300000}")
+    private long retentionMs;
+
+    @Value("${growloop.live.send-threads:2}")
+    private int sendThreads;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    // Bag ids never change owner
+    private final Cache<Long, Long> bagOwners = Caffeine.newBuilder().maximumSize(10_000).build();
+
+    private ExecutorService[] senders;
+    private Counter updatesSent;
+
+    private record Sent(long sequence, LiveUpdateDTO update) {
+    }
+
+    private static final class Channel {
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        // Guarded by itself
+        final ArrayDeque<Sent> recent = new ArrayDeque<>();
+        // Every update for this user after this sequence number is still in recent
+        long coveredFrom;
+        // When the last stream closed; 0 while one is open
+        volatile long idleSince;
+
+        Channel(long coveredFrom) {
+            this.coveredFrom = coveredFrom;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        senders = new ExecutorService[Math.max(1, sendThreads)];
+        for (int i = 0; i < senders.length; i++) {
+            String name = "live-sender-" + i;
+            senders[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        Gauge.builder("growloop.live.connections", connections, AtomicInteger::get)
+                .description("Open live-update event streams")
+                .register(meterRegistry);
+        updatesSent = Counter.builder("growloop.live.updates")
+                .description("Live updates written to event streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.emitters.forEach(SseEmitter::complete));
+        for (ExecutorService sender : senders) {
+            sender.shutdown();
+        }
+    }
+
+    // Open a stream for the user, first replaying what they missed since lastEventId (if given)
+    public SseEmitter subscribe(long userId, String lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Channel channel = channels.compute(userId, (id, existing) -> {
+            Channel current = existing != null ? existing : new Channel(sequence.get());
+            current.idleSince = 0;
+            return current;
+        });
+        connections.incrementAndGet();
+
+        Runnable remove = () -> {
+            if (channel.emitters.remove(emitter)) {
+                connections.decrementAndGet();
+                if (channel.emitters.isEmpty()) {
+                    channel.idleSince = System.currentTimeMillis();
+                }
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // Replay and registration run on the user's sender, ahead of any update queued after this point
+        sender(userId).execute(() -> {
+            List<Sent> missed = missedSince(channel, lastEventId);
+            channel.emitters.add(emitter);
+            if (missed == null) {
+                send(emitter, SseEmitter.event().name(RESYNC_EVENT).data("", MediaType.TEXT_PLAIN));
+            } else {
+                missed.forEach(sent -> sendUpdate(emitter, sent));
+            }
+        });
+        return emitter;
+    }
+
+    // Nothing to look up or send while nobody on this instance is listening
+    @Override
+    public void onOutboxEvents(List<DomainEvent> events) {
+        if (!channels.isEmpty()) {
+            deliverAll(events);
+        }
+    }
+
+    // Bag counters for all item events in the batch come from one query, and only for bags whose owner is
+    // listening (or not known yet)
+    void deliverAll(List<DomainEvent> events) {
+        Set<Long> lookup = new HashSet<>();
+        for (DomainEvent event : events) {
+            if (event.payload() instanceof BagResponseDTO bag) {
+                bagOwners.put(bag.getBagId(), bag.getCreatorId());
+            } else if (event.payload() instanceof ItemResponseDTO item && item.getBagId() != null) {
+                Long ownerId = bagOwners.getIfPresent(item.getBagId());
+                if (ownerId == null || channels.containsKey(ownerId)) {
+                    lookup.add(item.getBagId());
+                }
+            }
+        }
+        Map<Long, BagCountersRow> counters = new HashMap<>();
+        if (!lookup.isEmpty()) {
+            for (BagCountersRow row : bagRepository.findCountersByIds(lookup)) {
+                counters.put(row.getBagId(), row);
+                bagOwners.put(row.getBagId(), row.getOwnerId());
+            }
+        }
+
+        for (DomainEvent event : events) {
+            if (event.payload() instanceof BagResponseDTO bag) {
+                deliver(bag.getCreatorId(), new LiveUpdateDTO(new LiveUpdateDTO.BagDelta(
+                        bag.getBagId(), bag.getStatus(), bag.getTotalItems(), bag.getPointsAwarded()), null));
+            } else if (event.payload() instanceof ItemResponseDTO item) {
+                deliverItem(item, counters);
+            }
+        }
+    }
+
+    private void deliverItem(ItemResponseDTO item, Map<Long, BagCountersRow> counters) {
+        LiveUpdateDTO.ItemDelta itemDelta = new LiveUpdateDTO.ItemDelta(
+                item.getItemId(), item.getBagId(), item.getGrade(), item.getStatus(), item.getLoyaltyPoint());
+        Long ownerId = item.getBagId() != null ? bagOwners.getIfPresent(item.getBagId()) : null;
+        // The item changed the bag's counters; only sent when the owner is listening
+        BagCountersRow row = item.getBagId() != null ? counters.get(item.getBagId()) : null;
+        LiveUpdateDTO.BagDelta bagDelta = row != null && channels.containsKey(ownerId) ? toBagDelta(row) : null;
+        if (ownerId != null && ownerId.equals(item.getContributorId())) {
+            deliver(ownerId, new LiveUpdateDTO(bagDelta, itemDelta));
+        } else {
+            deliver(item.getContributorId(), new LiveUpdateDTO(null, itemDelta));
+            if (bagDelta != null) {
+                deliver(ownerId, new LiveUpdateDTO(bagDelta, null));
+            }
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    // Keeps proxies from closing idle streams and finds dead connections; drops channels idle past retention
+    @Scheduled(fixedDelayString = "${growloop.live.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long expiredBefore = System.currentTimeMillis() - retentionMs;
+        channels.forEach((userId, channel) -> {
+            if (channel.emitters.isEmpty()) {
+                channels.computeIfPresent(userId, (id, current) -> current.emitters.isEmpty()
+                        && current.idleSince != 0 && current.idleSince < expiredBefore ? null : current);
+                return;
+            }
+            sender(userId).execute(() -> channel.emitters.forEach(emitter ->
+                    send(emitter, SseEmitter.event().comment("keepalive"))));
+        });
+    }
+
+    private void deliver(Long userId, LiveUpdateDTO update) {
+        if (userId == null) {
+            return;
+        }
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            return;
+        }
+        Sent sent;
+        synchronized (channel.recent) {
+            sent = new Sent(sequence.incrementAndGet(), update);
+            channel.recent.addLast(sent);
+            if (channel.recent.size() > replaySize) {
+                channel.coveredFrom = channel.recent.removeFirst().sequence();
+            }
+        }
+        sender(userId).execute(() -> channel.emitters.forEach(emitter -> sendUpdate(emitter, sent)));
+    }
+
+    // Updates after lastEventId, or null when some of them are no longer known here
+    private List<Sent> missedSince(Channel channel, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int dash = lastEventId.indexOf('-');
+        if (dash < 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        synchronized (channel.recent) {
+            if (last < channel.coveredFrom) {
+                return null;
+            }
+            List<Sent> missed = new ArrayList<>();
+            for (Sent sent : channel.recent) {
+                if (sent.sequence() > last) {
+                    missed.add(sent);
+                }
+            }
+            return missed;
+        }
+    }
+
+    private void sendUpdate(SseEmitter emitter, Sent sent) {
+        send(emitter, SseEmitter.event()
+                .id(epoch + "-" + sent.sequence())
+                .name(UPDATE_EVENT)
+                .data(sent.update(), MediaType.APPLICATION_JSON));
+        updatesSent.increment();
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; completing fires the removal callback
+            emitter.completeWithError(e);
+        }
+    }
+
+    private LiveUpdateDTO.BagDelta toBagDelta(BagCountersRow row) {
+        BagCounterBuffer.PendingDelta pending = bagCounterBuffer.pending(row.getBagId());
+        return new LiveUpdateDTO.BagDelta(row.getBagId(), row.getStatus().name(),
+                row.getTotalItems() + pending.items(), row.getPointsAwarded() + pending.points());
+    }
+
+    private ExecutorService sender(long userId) {
+        return senders[(int) Math.floorMod(userId, (long) senders.length)];
+    }
+}
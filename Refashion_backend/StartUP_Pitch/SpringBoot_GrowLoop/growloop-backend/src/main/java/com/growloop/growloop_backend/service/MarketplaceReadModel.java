@@ -0,0 +1,582 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.MarketplaceListingRow;
+import com.growloop.growloop_backend.authentication.Dto.UserResponseDTO;
+import com.growloop.growloop_backend.enumHelpers.items.ItemGrade;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.MarketplaceReadModelRebuiltEvent;
+import com.growloop.growloop_backend.event.OutboxTailListener;
+import com.growloop.growloop_backend.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Listable items (grade A + APPROVED) held in memory as columns, newest first, so marketplace
+// browsing and filtering never reach MySQL. Strings that repeat (item type, gender, age group,
+// contributor and bag names) are dictionary-coded ints; a row costs ~70 bytes plus its description.
+// Item changes arrive from this instance's OutboxTail, so the model follows writes made on any instance.
+// Snapshots are immutable: writers merge changes into a new snapshot, readers never lock. A merge copies
+// the whole snapshot, so committed changes are queued and merged in batches (every merge-interval-ms, or
+// sooner once merge-batch-size are waiting), and changes that leave the listings as they are skip the merge.
+// Contributor renames (USER_RENAMED) rewrite the names on that contributor's listings; bag names are set when
+// the bag is created and never change.
+@Slf4j
+@Service
+public class MarketplaceReadModel implements OutboxTailListener {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int NO_CODE = -1;
+    private static final int ANY = -2;
+    private static final long NO_BAG = -1L;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private volatile Columns columns = new ColumnsBuilder(new Dictionaries(), 0).build();
+    private volatile boolean loaded;
+
+    @Value("${growloop.marketplace.read-model.merge-batch-size:500}")
+    private int mergeBatchSize;
+
+    // Committed changes waiting to be merged; whoever holds writeLock drains them in one pass
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Queue<UserResponseDTO> pendingRenames = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Timer rebuildTimer;
+    private Timer queryTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("growloop.marketplace.read-model.size", this, model -> model.size())
+                .description("Listable items held in the marketplace read model")
+                .register(meterRegistry);
+        rebuildTimer = Timer.builder("growloop.marketplace.read-model.rebuild")
+                .description("Full rebuild time of the marketplace read model")
+                .register(meterRegistry);
+        queryTimer = Timer.builder("growloop.marketplace.read-model.query")
+                .description("Marketplace page / filter latency against the read model")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    // Reload every listable item in listing order
+    public void rebuild() {
+        boolean rebuilt = false;
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            // Fresh dictionaries so codes of values no longer listed are dropped
+            ColumnsBuilder builder = new ColumnsBuilder(new Dictionaries(), (int) Math.min(Integer.MAX_VALUE - 8,
+                    itemRepository.countItemsReadyForListing() + 16));
+            PageRequest batch = PageRequest.of(0, LOAD_BATCH_SIZE);
+            List<MarketplaceListingRow> rows = itemRepository.findListingRowsFirstBatch(batch);
+            while (!rows.isEmpty()) {
+                for (MarketplaceListingRow row : rows) {
+                    builder.add(row);
+                }
+                MarketplaceListingRow last = rows.get(rows.size() - 1);
+                rows = rows.size() < LOAD_BATCH_SIZE ? List.of()
+                        : itemRepository.findListingRowsAfter(last.getAddedAt(), last.getItemId(), batch);
+            }
+            columns = builder.build();
+            loaded = true;
+            rebuilt = true;
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Marketplace read model rebuilt: {} items in {} ms", columns.size,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (Exception e) {
+            log.warn("Marketplace read model rebuild failed: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+        // Changes committed while the load ran may be missing from it; re-applying is idempotent
+        drain();
+        if (rebuilt) {
+            eventPublisher.publishEvent(new MarketplaceReadModelRebuiltEvent(columns.size));
+        }
+    }
+
+    // Safety net for writes that bypass ItemService (and outbox events the tail skipped): rebuild when the
+    // listable count drifts
+    @Scheduled(fixedDelayString = "${growloop.marketplace.read-model.reconcile-interval-ms:300000}",
+            initialDelayString = "${growloop.marketplace.read-model.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            if (!loaded || itemRepository.countItemsReadyForListing() != columns.size) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("Marketplace read model reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onOutboxEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event.payload() instanceof ItemResponseDTO item) {
+                boolean listable = ItemGrade.A.name().equals(item.getGrade())
+                        && ItemStatus.APPROVED.name().equals(item.getStatus());
+                pending.add(new Change(item.getItemId(), toMicros(item.getAddedAt()), listable ? toRow(item) : null));
+                if (pendingCount.incrementAndGet() >= mergeBatchSize) {
+                    drain();
+                }
+            } else if (event.payload() instanceof UserResponseDTO user) {
+                pendingRenames.add(user);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${growloop.marketplace.read-model.merge-interval-ms:250}")
+    public void mergePending() {
+        drain();
+    }
+
+    // One page of listings after the (addedAt, itemId) cursor, or from the newest when the cursor is null.
+    // Null filters match everything.
+    public List<ItemResponseDTO> page(LocalDateTime afterAddedAt, Long afterItemId, int limit,
+                                      String itemType, String gender, String ageGroup) {
+        return queryTimer.record(() -> {
+            Columns current = columns;
+            int typeCode = codeFilter(current.dictionaries.itemTypes, itemType);
+            int genderCode = codeFilter(current.dictionaries.genders, gender);
+            int ageGroupCode = codeFilter(current.dictionaries.ageGroups, ageGroup);
+            List<ItemResponseDTO> result = new ArrayList<>(Math.min(limit, 64));
+            if (typeCode == NO_CODE || genderCode == NO_CODE || ageGroupCode == NO_CODE) {
+                return result;
+            }
+
+            int from = afterAddedAt == null ? 0 : current.indexAfter(toMicros(afterAddedAt), afterItemId);
+            for (int i = from; i < current.size && result.size() < limit; i++) {
+                if ((typeCode == ANY || current.itemTypes[i] == typeCode)
+                        && (genderCode == ANY || current.genders[i] == genderCode)
+                        && (ageGroupCode == ANY || current.ageGroups[i] == ageGroupCode)) {
+                    result.add(toDto(current, i));
+                }
+            }
+            return result;
+        });
+    }
+
+    // Every listing, newest first
+    public List<ItemResponseDTO> all() {
+        Columns current = columns;
+        List<ItemResponseDTO> result = new ArrayList<>(current.size);
+        for (int i = 0; i < current.size; i++) {
+            result.add(toDto(current, i));
+        }
+        return result;
+    }
+
+    // ANY when there is no filter, NO_CODE when the value never occurs in a listing
+    private static int codeFilter(Dictionary dictionary, String value) {
+        if (value == null) {
+            return ANY;
+        }
+        return dictionary.codeOf(value);
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() || !pendingRenames.isEmpty()) {
+            if (!writeLock.tryLock()) {
+                // The holder drains what we queued before it releases the lock
+                return;
+            }
+            try {
+                if (!loaded) {
+                    // Keep queued until the first load completes
+                    return;
+                }
+                Map<Long, Change> latest = new LinkedHashMap<>();
+                Change change;
+                while ((change = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    latest.put(change.itemId(), change);
+                }
+                // A removal of an item that isn't listed changes nothing (most item writes: new, rejected,
+                // graded below A); only the rest are worth copying the snapshot for
+                Columns current = columns;
+                Map<Long, MarketplaceListingRow> changes = new LinkedHashMap<>();
+                for (Change latestChange : latest.values()) {
+                    if (latestChange.row() != null
+                            || current.indexOf(latestChange.addedAtMicros(), latestChange.itemId()) >= 0) {
+                        changes.put(latestChange.itemId(), latestChange.row());
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    current = merge(current, changes);
+                }
+                // Renames apply after the item changes queued with them, so an item event carrying the old
+                // name doesn't bring it back
+                Map<Long, String> names = new LinkedHashMap<>();
+                UserResponseDTO user;
+                while ((user = pendingRenames.poll()) != null) {
+                    names.put(user.getUserId(), user.getUserName());
+                }
+                if (!names.isEmpty()) {
+                    current = rename(current, names);
+                }
+                columns = current;
+            } catch (Exception e) {
+                log.warn("Marketplace read model update failed, scheduling rebuild: {}", e.getMessage());
+                loaded = false;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    // One linear pass: drop changed ids from the old snapshot and interleave the upserted rows
+    private Columns merge(Columns current, Map<Long, MarketplaceListingRow> changes) {
+        List<MarketplaceListingRow> upserts = new ArrayList<>();
+        for (MarketplaceListingRow row : changes.values()) {
+            if (row != null) {
+                upserts.add(row);
+            }
+        }
+        upserts.sort(Comparator.comparingLong((MarketplaceListingRow row) -> toMicros(row.getAddedAt()))
+                .thenComparingLong(MarketplaceListingRow::getItemId)
+                .reversed());
+
+        ColumnsBuilder builder = new ColumnsBuilder(current.dictionaries, current.size + upserts.size());
+        int next = 0;
+        for (int i = 0; i < current.size; i++) {
+            while (next < upserts.size() && comesBefore(upserts.get(next), current, i)) {
+                builder.add(upserts.get(next++));
+            }
+            if (!changes.containsKey(current.itemIds[i])) {
+                builder.copy(current, i);
+            }
+        }
+        while (next < upserts.size()) {
+            builder.add(upserts.get(next++));
+        }
+        return builder.build();
+    }
+
+    // Copies the snapshot only when one of the contributors has a listing under another name
+    private static Columns rename(Columns current, Map<Long, String> names) {
+        Dictionary dictionary = current.dictionaries.contributorNames;
+        boolean stale = false;
+        for (int i = 0; i < current.size && !stale; i++) {
+            stale = names.containsKey(current.contributorIds[i])
+                    && dictionary.encode(names.get(current.contributorIds[i])) != current.contributorNames[i];
+        }
+        if (!stale) {
+            return current;
+        }
+        ColumnsBuilder builder = new ColumnsBuilder(current.dictionaries, current.size);
+        for (int i = 0; i < current.size; i++) {
+            builder.copy(current, i);
+            String name = names.get(current.contributorIds[i]);
+            if (name != null) {
+                builder.contributorNames[i] = dictionary.encode(name);
+            }
+        }
+        return builder.build();
+    }
+
+    private static boolean comesBefore(MarketplaceListingRow row, Columns columns, int index) {
+        long addedAt = toMicros(row.getAddedAt());
+        return addedAt > columns.addedAtMicros[index]
+                || (addedAt == columns.addedAtMicros[index] && row.getItemId() > columns.itemIds[index]);
+    }
+
+    private static ItemResponseDTO toDto(Columns current, int i) {
+        Dictionaries dictionaries = current.dictionaries;
+        ItemResponseDTO dto = new ItemResponseDTO();
+        dto.setItemId(current.itemIds[i]);
+        dto.setBagId(current.bagIds[i] == NO_BAG ? null : current.bagIds[i]);
+        dto.setBagName(dictionaries.bagNames.valueOf(current.bagNames[i]));
+        dto.setContributorId(current.contributorIds[i]);
+        dto.setContributorName(dictionaries.contributorNames.valueOf(current.contributorNames[i]));
+        dto.setItemType(dictionaries.itemTypes.valueOf(current.itemTypes[i]));
+        dto.setConditionDescription(current.conditionDescriptions[i]);
+        dto.setGender(dictionaries.genders.valueOf(current.genders[i]));
+        dto.setAgeGroup(dictionaries.ageGroups.valueOf(current.ageGroups[i]));
+        dto.setGrade(ItemGrade.A.name());
+        dto.setGradeDisplayName(ItemGrade.A.getDisplayName());
+        dto.setStatus(ItemStatus.APPROVED.name());
+        dto.setStatusDisplayName(ItemStatus.APPROVED.getDisplayName());
+        dto.setLoyaltyPoint(BigDecimal.valueOf(current.loyaltyCents[i], 2));
+        dto.setAddedAt(fromMicros(current.addedAtMicros[i]));
+        dto.setIsGradeA(true);
+        dto.setIsReadyForListing(true);
+        return dto;
+    }
+
+    private static MarketplaceListingRow toRow(ItemResponseDTO item) {
+        return new MarketplaceListingRow(item.getItemId(), item.getBagId(), item.getBagName(),
+                item.getContributorId(), item.getContributorName(), item.getItemType(),
+                item.getConditionDescription(), item.getGender(), item.getAgeGroup(),
+                item.getLoyaltyPoint(), item.getAddedAt());
+    }
+
+    // added_at is DATETIME(6); microseconds since the epoch keep it exact in a long
+    private static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return 0L;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    // row is null when the item is no longer listable
+    private record Change(Long itemId, long addedAtMicros, MarketplaceListingRow row) {
+    }
+
+    // Code tables shared by a snapshot and the snapshots merged from it; a rebuild starts new ones
+    private static final class Dictionaries {
+        final Dictionary itemTypes = new Dictionary();
+        final Dictionary genders = new Dictionary();
+        final Dictionary ageGroups = new Dictionary();
+        final Dictionary contributorNames = new Dictionary();
+        final Dictionary bagNames = new Dictionary();
+    }
+
+    // Append-only string <-> int code table. Only writers (under writeLock) add codes, and they do so
+    // before publishing the snapshot that uses them, so readers always find the codes they see.
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[16];
+        private int size;
+
+        int codeOf(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : NO_CODE;
+        }
+
+        int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = value;
+            values = current;
+            codes.put(value, size);
+            return size++;
+        }
+
+        String valueOf(int code) {
+            return code == NO_CODE ? null : values[code];
+        }
+    }
+
+    // Immutable, sorted by addedAt desc then itemId desc
+    private static final class Columns {
+        final Dictionaries dictionaries;
+        final int size;
+        final long[] itemIds;
+        final long[] addedAtMicros;
+        final int[] itemTypes;
+        final int[] genders;
+        final int[] ageGroups;
+        final long[] contributorIds;
+        final int[] contributorNames;
+        final long[] bagIds;
+        final int[] bagNames;
+        final long[] loyaltyCents;
+        final String[] conditionDescriptions;
+
+        Columns(ColumnsBuilder builder) {
+            this.dictionaries = builder.dictionaries;
+            this.size = builder.size;
+            this.itemIds = builder.itemIds;
+            this.addedAtMicros = builder.addedAtMicros;
+            this.itemTypes = builder.itemTypes;
+            this.genders = builder.genders;
+            this.ageGroups = builder.ageGroups;
+            this.contributorIds = builder.contributorIds;
+            this.contributorNames = builder.contributorNames;
+            this.bagIds = builder.bagIds;
+            this.bagNames = builder.bagNames;
+            this.loyaltyCents = builder.loyaltyCents;
+            this.conditionDescriptions = builder.conditionDescriptions;
+        }
+
+        // Position of the listing, or -1
+        int indexOf(long addedAt, long itemId) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (addedAtMicros[mid] == addedAt && itemIds[mid] == itemId) {
+                    return mid;
+                }
+                boolean after = addedAtMicros[mid] < addedAt
+                        || (addedAtMicros[mid] == addedAt && itemIds[mid] < itemId);
+                if (after) {
+                    high = mid - 1;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return -1;
+        }
+
+        // First index strictly after the cursor in listing order
+        int indexAfter(long addedAt, long itemId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                boolean after = addedAtMicros[mid] < addedAt
+                        || (addedAtMicros[mid] == addedAt && itemIds[mid] < itemId);
+                if (after) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class ColumnsBuilder {
+        final Dictionaries dictionaries;
+        int size;
+        long[] itemIds;
+        long[] addedAtMicros;
+        int[] itemTypes;
+        int[] genders;
+        int[] ageGroups;
+        long[] contributorIds;
+        int[] contributorNames;
+        long[] bagIds;
+        int[] bagNames;
+        long[] loyaltyCents;
+        String[] conditionDescriptions;
+
+        ColumnsBuilder(Dictionaries dictionaries, int capacity) {
+            this.dictionaries = dictionaries;
+            itemIds = new long[capacity];
+            addedAtMicros = new long[capacity];
+            itemTypes = new int[capacity];
+            genders = new int[capacity];
+            ageGroups = new int[capacity];
+            contributorIds = new long[capacity];
+            contributorNames = new int[capacity];
+            bagIds = new long[capacity];
+            bagNames = new int[capacity];
+            loyaltyCents = new long[capacity];
+            conditionDescriptions = new String[capacity];
+        }
+
+        void add(MarketplaceListingRow row) {
+            ensureCapacity();
+            int i = size++;
+            itemIds[i] = row.getItemId();
+            addedAtMicros[i] = toMicros(row.getAddedAt());
+            itemTypes[i] = dictionaries.itemTypes.encode(row.getItemType());
+            genders[i] = dictionaries.genders.encode(row.getGender());
+            ageGroups[i] = dictionaries.ageGroups.encode(row.getAgeGroup());
+            contributorIds[i] = row.getContributorId();
+            contributorNames[i] = dictionaries.contributorNames.encode(row.getContributorName());
+            bagIds[i] = row.getBagId() != null ? row.getBagId() : NO_BAG;
+            bagNames[i] = dictionaries.bagNames.encode(row.getBagName());
+            loyaltyCents[i] = row.getLoyaltyPoint() != null
+                    ? row.getLoyaltyPoint().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact()
+                    : 0L;
+            conditionDescriptions[i] = row.getConditionDescription();
+        }
+
+        void copy(Columns source, int j) {
+            ensureCapacity();
+            int i = size++;
+            itemIds[i] = source.itemIds[j];
+            addedAtMicros[i] = source.addedAtMicros[j];
+            itemTypes[i] = source.itemTypes[j];
+            genders[i] = source.genders[j];
+            ageGroups[i] = source.ageGroups[j];
+            contributorIds[i] = source.contributorIds[j];
+            contributorNames[i] = source.contributorNames[j];
+            bagIds[i] = source.bagIds[j];
+            bagNames[i] = source.bagNames[j];
+            loyaltyCents[i] = source.loyaltyCents[j];
+            conditionDescriptions[i] = source.conditionDescriptions[j];
+        }
+
+        private void ensureCapacity() {
+            if (size < itemIds.length) {
+                return;
+            }
+            int capacity = Math.max(16, itemIds.length * 2);
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            addedAtMicros = Arrays.copyOf(addedAtMicros, capacity);
+            itemTypes = Arrays.copyOf(itemTypes, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+            ageGroups = Arrays.copyOf(ageGroups, capacity);
+            contributorIds = Arrays.copyOf(contributorIds, capacity);
+            contributorNames = Arrays.copyOf(contributorNames, capacity);
+            bagIds = Arrays.copyOf(bagIds, capacity);
+            bagNames = Arrays.copyOf(bagNames, capacity);
+            loyaltyCents = Arrays.copyOf(loyaltyCents, capacity);
+            conditionDescriptions = Arrays.copyOf(conditionDescriptions, capacity);
+        }
+
+        Columns build() {
+            return new Columns(this);
+        }
+    }
+}
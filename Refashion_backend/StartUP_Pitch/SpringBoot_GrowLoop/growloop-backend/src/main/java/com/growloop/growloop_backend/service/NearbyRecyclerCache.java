@@ -0,0 +1,128 @@
+package com.growloop.growloop_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.growloop.growloop_backend.event.RecyclerChangedEvent;
+import com.growloop.growloop_backend.event.RecyclerIndexRebuiltEvent;
+import com.growloop.growloop_backend.utilityFunctions.GeoUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Candidate recycler ids per (~1 km cell, radius bucket). The ids cover every query point in the
+// cell, so callers still compute the exact distance per request and drop the ones out of range.
+@Service
+public class NearbyRecyclerCache {
+
+    private static final double CELL_SIZE_DEG = 0.01;
+    private static final double[] RADIUS_BUCKETS_KM = {1, 2, 5, 10, 15, 25, 50, 100};
+
+    @Autowired
+    private RecyclerSpatialIndex recyclerSpatialIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.recyclers.nearby-cache.max-entries:10000}")
+    private long maxEntries;
+
+    private Cache<CellKey, CellCandidates> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recyclers.nearby");
+    }
+
+    // Candidate ids for a radius query, or null when the radius is larger than the biggest bucket
+    public long[] candidateIds(double latitude, double longitude, double radiusKm) {
+        int bucket = bucketFor(radiusKm);
+        if (bucket < 0) {
+            return null;
+        }
+        CellKey key = new CellKey(cell(latitude), cell(longitude), bucket);
+        CellCandidates candidates = cache.getIfPresent(key);
+        if (candidates == null) {
+            // Not cache.get(key, this::load): a load that read the grid before a move could be installed
+            // after the move's invalidation, so it is only cached if no invalidation ran during it
+            long seen = invalidations.get();
+            candidates = load(key);
+            if (invalidations.get() == seen) {
+                cache.put(key, candidates);
+            }
+        }
+        return candidates.ids();
+    }
+
+    @EventListener
+    public void onRecyclerChanged(RecyclerChangedEvent event) {
+        if (!event.moved()) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.asMap().values().removeIf(candidates ->
+                candidates.covers(event.previousLatitude(), event.previousLongitude())
+                        || candidates.covers(event.latitude(), event.longitude()));
+    }
+
+    @EventListener
+    public void onIndexRebuilt(RecyclerIndexRebuiltEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private CellCandidates load(CellKey key) {
+        double minLat = key.latCell() * CELL_SIZE_DEG;
+        double minLon = key.lonCell() * CELL_SIZE_DEG;
+        double centerLat = minLat + CELL_SIZE_DEG / 2;
+        double centerLon = minLon + CELL_SIZE_DEG / 2;
+
+        // Any point in the cell is within halfDiagonal of the center, so by the triangle
+        // inequality bucket + halfDiagonal around the center covers every query in the cell
+        double halfDiagonal = 0;
+        for (double lat : new double[]{minLat, minLat + CELL_SIZE_DEG}) {
+            for (double lon : new double[]{minLon, minLon + CELL_SIZE_DEG}) {
+                halfDiagonal = Math.max(halfDiagonal, GeoUtils.haversineKm(centerLat, centerLon, lat, lon));
+            }
+        }
+        double coverKm = RADIUS_BUCKETS_KM[key.bucket()] + halfDiagonal;
+
+        long[] ids = recyclerSpatialIndex.findWithinRadius(centerLat, centerLon, coverKm).stream()
+                .mapToLong(hit -> hit.recycler().getRecyclerId())
+                .toArray();
+        return new CellCandidates(ids, centerLat, centerLon, coverKm);
+    }
+
+    private static int bucketFor(double radiusKm) {
+        for (int i = 0; i < RADIUS_BUCKETS_KM.length; i++) {
+            if (radiusKm <= RADIUS_BUCKETS_KM[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long cell(double degrees) {
+        return (long) Math.floor(degrees / CELL_SIZE_DEG);
+    }
+
+    private record CellKey(long latCell, long lonCell, int bucket) {
+    }
+
+    private record CellCandidates(long[] ids, double centerLat, double centerLon, double coverKm) {
+        boolean covers(Double latitude, Double longitude) {
+            return latitude != null && longitude != null
+                    && GeoUtils.haversineKm(centerLat, centerLon, latitude, longitude) <= coverKm;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.growloop.growloop_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.growloop.growloop_backend.entity.JobLease;
+import com.growloop.growloop_backend.entity.OutboxEvent;
+import com.growloop.growloop_backend.enumHelpers.OutboxStatus;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.OutboxSubscriber;
+import com.growloop.growloop_backend.repository.JobLeaseRepository;
+import com.growloop.growloop_backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the outbox to the OutboxSubscriber beans in batches, oldest event first. An event is marked
+// published only after every interested subscriber handled it (at-least-once). When one fails, the rest
+// of that aggregate's events wait for the next poll so per-aggregate order holds; other aggregates go on.
+// Subscribers see each event once across the cluster, so only the instance holding the "outbox-publisher"
+// row in job_leases publishes (and cleans up); the others keep trying to take the lease over in case it
+// lapses. Per-instance state follows OutboxTail instead.
+@Slf4j
+@Service
+public class OutboxPublisher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    static final String LEASE = "outbox-publisher";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private List<OutboxSubscriber> subscribers;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.outbox.publisher.enabled:true}")
+    private boolean enabled;
+
+    @Value("${growloop.outbox.publisher.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${growloop.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${growloop.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${growloop.outbox.retention-ms:86400000}")
+    private long retentionMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    // When the lease was last renewed or tried, and until when this instance may act on it
+    private volatile long leaseCheckedAt;
+    private volatile long leaseValidUntil;
+
+    private TransactionTemplate transaction;
+    private final AtomicLong pending = new AtomicLong();
+    private Timer lag;
+    private Counter published;
+    private Counter failed;
+    private Counter dead;
+
+    @PostConstruct
+    public void init() {
+        transaction = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("growloop.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet delivered, as of the last poll")
+                .register(meterRegistry);
+        lag = Timer.builder("growloop.outbox.lag")
+                .description("Time from the outbox write to delivery to all subscribers")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        published = Counter.builder("growloop.outbox.published")
+                .description("Outbox events delivered to all subscribers")
+                .register(meterRegistry);
+        failed = Counter.builder("growloop.outbox.failed")
+                .description("Delivery attempts that a subscriber failed; the event is retried")
+                .register(meterRegistry);
+        dead = Counter.builder("growloop.outbox.dead")
+                .description("Outbox events given up on after growloop.outbox.max-attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${growloop.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!enabled || !holdsLease()) {
+            return;
+        }
+        try {
+            // Keep going while full batches deliver cleanly; failures wait for the next poll
+            int delivered;
+            do {
+                delivered = publishBatch();
+            } while (delivered == batchSize);
+            pending.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+        } catch (Exception e) {
+            log.warn("Outbox poll failed: {}", e.getMessage());
+        }
+    }
+
+    // Returns how many events were delivered
+    public int publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        Set<String> blocked = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : batch) {
+            String aggregate = event.getEventType().getAggregateType() + ":" + event.getAggregateId();
+            if (blocked.contains(aggregate)) {
+                continue;
+            }
+            try {
+                deliver(event);
+                delivered.add(event.getEventId());
+                lag.record(Duration.between(event.getCreatedAt(), now).abs());
+            } catch (Exception e) {
+                blocked.add(aggregate);
+                recordFailure(event, e);
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            transaction.executeWithoutResult(status ->
+                    outboxEventRepository.markPublished(delivered, OutboxStatus.PUBLISHED, LocalDateTime.now()));
+            published.increment(delivered.size());
+        }
+        return delivered.size();
+    }
+
+    // Published and dead events are only kept for inspection and replay
+    @Scheduled(fixedDelayString = "${growloop.outbox.cleanup-interval-ms:3600000}",
+            initialDelayString = "${growloop.outbox.cleanup-interval-ms:3600000}")
+    public void deletePublished() {
+        if (!enabled || !holdsLease()) {
+            return;
+        }
+        Integer deleted = transaction.execute(status -> outboxEventRepository.deleteFinishedBefore(
+                LocalDateTime.now().minus(Duration.ofMillis(retentionMs))));
+        log.info("Outbox cleanup: {} published or dead events removed", deleted);
+    }
+
+    // Renews (or tries to take) the lease every third of lease-ms. The row expires lease-ms after a renewal,
+    // but the holder only trusts it for half that, so instance clocks may drift apart by up to lease-ms / 2
+    // without two publishers overlapping.
+    boolean holdsLease() {
+        long now = System.currentTimeMillis();
+        if (now - leaseCheckedAt < leaseMs / 3) {
+            return now < leaseValidUntil;
+        }
+        leaseCheckedAt = now;
+        try {
+            boolean held = tryAcquireLease();
+            if (held && now >= leaseValidUntil) {
+                log.info("Outbox publisher lease taken by this instance ({})", instanceId);
+            }
+            leaseValidUntil = held ? now + leaseMs / 2 : 0;
+        } catch (Exception e) {
+            log.warn("Could not renew the outbox publisher lease: {}", e.getMessage());
+        }
+        return now < leaseValidUntil;
+    }
+
+    private boolean tryAcquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(Duration.ofMillis(leaseMs));
+        Integer acquired = transaction.execute(status ->
+                jobLeaseRepository.tryAcquire(LEASE, instanceId, now, expiresAt));
+        if (acquired != null && acquired == 1) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(LEASE)) {
+            return false;
+        }
+        // First start against this database: create the row lapsed, then race for it like any other time
+        try {
+            transaction.executeWithoutResult(status -> jobLeaseRepository.save(JobLease.builder()
+                    .name(LEASE)
+                    .expiresAt(now.minus(Duration.ofMillis(leaseMs)))
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+        acquired = transaction.execute(status -> jobLeaseRepository.tryAcquire(LEASE, instanceId, now, expiresAt));
+        return acquired != null && acquired == 1;
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        Object payload = objectMapper.readValue(event.getPayload(), event.getEventType().getPayloadType());
+        DomainEvent domainEvent = new DomainEvent(
+                event.getEventId(), event.getEventType(), event.getAggregateId(), payload, event.getCreatedAt());
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(domainEvent)) {
+                subscriber.handle(domainEvent);
+            }
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        failed.increment();
+        String error = String.valueOf(e.getMessage());
+        transaction.executeWithoutResult(status -> outboxEventRepository.findById(event.getEventId()).ifPresent(row -> {
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (row.getAttempts() >= maxAttempts) {
+                row.setStatus(OutboxStatus.DEAD);
+                dead.increment();
+                log.error("Outbox event {} ({} {}) dropped after {} attempts: {}", row.getEventId(),
+                        row.getEventType(), row.getAggregateId(), row.getAttempts(), error);
+            }
+        }));
+        log.warn("Outbox event {} ({} {}) failed: {}", event.getEventId(), event.getEventType(),
+                event.getAggregateId(), error);
+    }
+}
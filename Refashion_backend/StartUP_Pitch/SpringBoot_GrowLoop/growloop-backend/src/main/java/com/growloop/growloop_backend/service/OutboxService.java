@@ -0,0 +1,81 @@
+package com.growloop.growloop_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.enumHelpers.OutboxStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes domain events to the outbox table inside the transaction that makes the change, so the event
+// exists exactly when the change does; fan-out happens later (OutboxPublisher, OutboxTail). A transaction's
+// events are collected and inserted together just before commit as one JDBC batch (a single multi-row INSERT
+// with rewriteBatchedStatements), which keeps bulk paths like addItemsToBag cheap despite AUTO_INCREMENT ids.
+@Service
+public class OutboxService {
+
+    private static final String INSERT = "INSERT INTO outbox_events " +
+            "(event_type, aggregate_id, payload, status, attempts, created_at) VALUES (?, ?, ?, ?, 0, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private record Row(DomainEventType type, long aggregateId, String payload, LocalDateTime createdAt) {
+    }
+
+    public void append(DomainEventType type, long aggregateId, Object payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written inside the changing transaction");
+        }
+        if (!type.getPayloadType().isInstance(payload)) {
+            throw new IllegalArgumentException(type + " expects a " + type.getPayloadType().getSimpleName());
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + type + " event: " + e.getMessage(), e);
+        }
+        pendingRows().add(new Row(type, aggregateId, json, LocalDateTime.now()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Row> pendingRows() {
+        List<Row> rows = (List<Row>) TransactionSynchronizationManager.getResource(this);
+        if (rows != null) {
+            return rows;
+        }
+        List<Row> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Rows go in the order they were appended, so their ids rise in that order too
+                jdbcTemplate.batchUpdate(INSERT, created, created.size(), (statement, row) -> {
+                    statement.setString(1, row.type().name());
+                    statement.setLong(2, row.aggregateId());
+                    statement.setString(3, row.payload());
+                    statement.setString(4, OutboxStatus.PENDING.name());
+                    statement.setTimestamp(5, Timestamp.valueOf(row.createdAt()));
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OutboxService.this);
+            }
+        });
+        return created;
+    }
+}
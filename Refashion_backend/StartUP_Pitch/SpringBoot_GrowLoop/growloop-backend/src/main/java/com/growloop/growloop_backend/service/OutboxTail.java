@@ -0,0 +1,130 @@
+package com.growloop.growloop_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.growloop.growloop_backend.entity.OutboxEvent;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.OutboxTailListener;
+import com.growloop.growloop_backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Follows outbox_events on this instance and hands each batch to the OutboxTailListener beans, so in-memory
+// views and live streams see changes made on any instance. The cursor lives in memory and rows are never
+// marked, so tailing doesn't depend on (or disturb) OutboxPublisher. The cursor starts at the newest event
+// when the bean is created, before the views load on ApplicationReadyEvent: events around the load may be
+// seen by both, and listeners apply the committed state, so applying one again is harmless.
+@Slf4j
+@Service
+public class OutboxTail {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private List<OutboxTailListener> listeners;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.outbox.tail.batch-size:500}")
+    private int batchSize;
+
+    @Value("${growloop.outbox.tail.gap-wait-ms:2000}")
+    private long gapWaitMs;
+
+    // Only touched by poll() after init: the last event id handled (-1 until known), and since when the next
+    // id has been missing
+    private long cursor = -1;
+    private long gapSince;
+
+    private Counter skippedGaps;
+
+    @PostConstruct
+    public void init() {
+        skippedGaps = Counter.builder("growloop.outbox.tail.gaps-skipped")
+                .description("Missing outbox ids the tail stopped waiting for (rolled back, or committed too late)")
+                .register(meterRegistry);
+        try {
+            cursor = outboxEventRepository.findMaxEventId();
+        } catch (Exception e) {
+            log.warn("Could not read the outbox position; the tail starts at the first poll: {}", e.getMessage());
+        }
+    }
+
+    // Read the outbox rows committed since the last poll, in id order. Ids are AUTO_INCREMENT, so a missing
+    // id may belong to a transaction that hasn't committed yet; the tail waits up to gap-wait-ms for it
+    // before moving past (a rolled-back insert leaves a gap that never fills).
+    @Scheduled(fixedDelayString = "${growloop.outbox.tail.poll-interval-ms:250}")
+    public void poll() {
+        try {
+            if (cursor < 0) {
+                cursor = outboxEventRepository.findMaxEventId();
+                return;
+            }
+            List<OutboxEvent> rows;
+            do {
+                rows = outboxEventRepository.findAfter(cursor, PageRequest.of(0, batchSize));
+                List<DomainEvent> events = read(rows);
+                if (events.isEmpty()) {
+                    return;
+                }
+                deliver(events);
+            } while (rows.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox tail poll failed: {}", e.getMessage());
+        }
+    }
+
+    // The events up to the first gap still worth waiting for; moves the cursor past them
+    private List<DomainEvent> read(List<OutboxEvent> rows) {
+        List<DomainEvent> events = new ArrayList<>(rows.size());
+        long now = System.currentTimeMillis();
+        for (OutboxEvent row : rows) {
+            if (row.getEventId() != cursor + 1) {
+                if (gapSince == 0) {
+                    gapSince = now;
+                }
+                if (now - gapSince < gapWaitMs) {
+                    break;
+                }
+                skippedGaps.increment();
+            }
+            gapSince = 0;
+            cursor = row.getEventId();
+            try {
+                events.add(new DomainEvent(row.getEventId(), row.getEventType(), row.getAggregateId(),
+                        objectMapper.readValue(row.getPayload(), row.getEventType().getPayloadType()),
+                        row.getCreatedAt()));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable outbox event {}: {}", row.getEventId(), e.getMessage());
+            }
+        }
+        return events;
+    }
+
+    // One listener failing doesn't keep the batch from the others
+    private void deliver(List<DomainEvent> events) {
+        for (OutboxTailListener listener : listeners) {
+            try {
+                listener.onOutboxEvents(events);
+            } catch (Exception e) {
+                log.warn("{} failed on outbox events {}..{}: {}", listener.getClass().getSimpleName(),
+                        events.get(0).eventId(), events.get(events.size() - 1).eventId(), e.getMessage());
+            }
+        }
+    }
+}
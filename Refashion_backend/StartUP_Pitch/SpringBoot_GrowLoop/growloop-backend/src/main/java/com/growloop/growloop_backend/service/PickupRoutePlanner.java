@@ -0,0 +1,206 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.PickupRouteDTO;
+import com.growloop.growloop_backend.authentication.Dto.PickupStop;
+import com.growloop.growloop_backend.utilityFunctions.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Splits pickup stops into areas small enough for one driver and orders each area into a route.
+// Areas come from recursive median bisection along the wider axis; every half is a fork-join task,
+// and leaves are ordered with nearest-neighbour and then improved with 2-opt.
+public class PickupRoutePlanner implements AutoCloseable {
+
+    private static final int MAX_TWO_OPT_PASSES = 50;
+
+    private final int maxStopsPerRoute;
+    private final ForkJoinPool pool;
+
+    public PickupRoutePlanner(int maxStopsPerRoute, int parallelism) {
+        if (maxStopsPerRoute < 1) {
+            throw new IllegalArgumentException("maxStopsPerRoute must be positive");
+        }
+        this.maxStopsPerRoute = maxStopsPerRoute;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public List<PickupRouteDTO> plan(List<PickupStop> stops) {
+        if (stops.isEmpty()) {
+            return new ArrayList<>();
+        }
+        PickupStop[] working = stops.toArray(new PickupStop[0]);
+        List<PickupRouteDTO> routes = pool.invoke(new ClusterTask(working, 0, working.length));
+        for (int i = 0; i < routes.size(); i++) {
+            routes.get(i).setRouteNumber(i + 1);
+        }
+        return routes;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private class ClusterTask extends RecursiveTask<List<PickupRouteDTO>> {
+        private final PickupStop[] stops;
+        private final int from;
+        private final int to;
+
+        ClusterTask(PickupStop[] stops, int from, int to) {
+            this.stops = stops;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<PickupRouteDTO> compute() {
+            if (to - from <= maxStopsPerRoute) {
+                List<PickupRouteDTO> leaf = new ArrayList<>(1);
+                leaf.add(buildRoute(Arrays.copyOfRange(stops, from, to)));
+                return leaf;
+            }
+
+            // Split at the median of the wider axis; longitude is scaled so both axes are in ~km
+            double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+            double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                minLat = Math.min(minLat, stops[i].getLatitude());
+                maxLat = Math.max(maxLat, stops[i].getLatitude());
+                minLon = Math.min(minLon, stops[i].getLongitude());
+                maxLon = Math.max(maxLon, stops[i].getLongitude());
+            }
+            double lonScale = Math.cos(Math.toRadians((minLat + maxLat) / 2));
+            Comparator<PickupStop> axis = (maxLat - minLat) >= (maxLon - minLon) * lonScale
+                    ? Comparator.comparingDouble(PickupStop::getLatitude)
+                    : Comparator.comparingDouble(PickupStop::getLongitude);
+            Arrays.sort(stops, from, to, axis);
+
+            // Keep halves as multiples of the route size where possible so routes come out full
+            int count = to - from;
+            int leftRoutes = (count + maxStopsPerRoute - 1) / maxStopsPerRoute / 2;
+            int mid = from + Math.max(1, Math.min(count - 1, leftRoutes * maxStopsPerRoute));
+
+            ClusterTask left = new ClusterTask(stops, from, mid);
+            ClusterTask right = new ClusterTask(stops, mid, to);
+            left.fork();
+            List<PickupRouteDTO> rightRoutes = right.compute();
+            List<PickupRouteDTO> routes = left.join();
+            routes.addAll(rightRoutes);
+            return routes;
+        }
+    }
+
+    PickupRouteDTO buildRoute(PickupStop[] stops) {
+        int n = stops.length;
+        double[][] distance = new double[n][n];
+        double centerLat = 0, centerLon = 0;
+        int totalItems = 0;
+        for (int i = 0; i < n; i++) {
+            centerLat += stops[i].getLatitude() / n;
+            centerLon += stops[i].getLongitude() / n;
+            totalItems += stops[i].getTotalItems() != null ? stops[i].getTotalItems() : 0;
+            for (int j = i + 1; j < n; j++) {
+                double d = GeoUtils.haversineKm(
+                        stops[i].getLatitude(), stops[i].getLongitude(),
+                        stops[j].getLatitude(), stops[j].getLongitude());
+                distance[i][j] = d;
+                distance[j][i] = d;
+            }
+        }
+
+        int[] order = nearestNeighbour(stops, distance, startIndex(stops, centerLat, centerLon));
+        twoOpt(order, distance);
+
+        List<PickupStop> ordered = new ArrayList<>(n);
+        double length = 0;
+        for (int i = 0; i < n; i++) {
+            ordered.add(stops[order[i]]);
+            if (i > 0) {
+                length += distance[order[i - 1]][order[i]];
+            }
+        }
+
+        PickupRouteDTO route = new PickupRouteDTO();
+        route.setCenterLatitude(centerLat);
+        route.setCenterLongitude(centerLon);
+        route.setStopCount(n);
+        route.setTotalItems(totalItems);
+        route.setDistanceKm(Math.round(length * 100.0) / 100.0);
+        route.setStops(ordered);
+        return route;
+    }
+
+    // Start at the stop farthest from the area center so the path sweeps across instead of doubling back
+    private static int startIndex(PickupStop[] stops, double centerLat, double centerLon) {
+        int start = 0;
+        double farthest = -1;
+        for (int i = 0; i < stops.length; i++) {
+            double d = GeoUtils.haversineKm(centerLat, centerLon, stops[i].getLatitude(), stops[i].getLongitude());
+            if (d > farthest) {
+                farthest = d;
+                start = i;
+            }
+        }
+        return start;
+    }
+
+    private static int[] nearestNeighbour(PickupStop[] stops, double[][] distance, int start) {
+        int n = stops.length;
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        order[0] = start;
+        visited[start] = true;
+        for (int step = 1; step < n; step++) {
+            int current = order[step - 1];
+            int next = -1;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (!visited[candidate] && (next < 0 || distance[current][candidate] < distance[current][next])) {
+                    next = candidate;
+                }
+            }
+            order[step] = next;
+            visited[next] = true;
+        }
+        return order;
+    }
+
+    // 2-opt for an open path with a fixed first stop: reverse order[i+1..j] while that shortens the route
+    private static void twoOpt(int[] order, double[][] distance) {
+        int n = order.length;
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+            improved = false;
+            for (int i = 0; i < n - 2; i++) {
+                for (int j = i + 2; j < n; j++) {
+                    int a = order[i];
+                    int b = order[i + 1];
+                    int c = order[j];
+                    double before = distance[a][b];
+                    double after = distance[a][c];
+                    if (j + 1 < n) {
+                        int d = order[j + 1];
+                        before += distance[c][d];
+                        after += distance[b][d];
+                    }
+                    if (after < before - 1e-9) {
+                        reverse(order, i + 1, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] order, int from, int to) {
+        while (from < to) {
+            int tmp = order[from];
+            order[from++] = order[to];
+            order[to--] = tmp;
+        }
+    }
+}
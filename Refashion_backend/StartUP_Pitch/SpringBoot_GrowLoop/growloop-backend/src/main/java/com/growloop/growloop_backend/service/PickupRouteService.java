@@ -0,0 +1,79 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.PickupPlanDTO;
+import com.growloop.growloop_backend.authentication.Dto.PickupRouteDTO;
+import com.growloop.growloop_backend.authentication.Dto.PickupStop;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.repository.BagRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Periodically turns every AWAITING_PICKUP bag into driver routes
+@Slf4j
+@Service
+public class PickupRouteService {
+
+    @Autowired
+    private BagRepository bagRepository;
+
+    @Value("${growloop.pickup.max-stops-per-route:25}")
+    private int maxStopsPerRoute;
+
+    @Value("${growloop.pickup.parallelism:0}")
+    private int parallelism;
+
+    private PickupRoutePlanner planner;
+
+    private final AtomicReference<PickupPlanDTO> latestPlan = new AtomicReference<>();
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        planner = new PickupRoutePlanner(maxStopsPerRoute, threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        planner.close();
+    }
+
+    @Scheduled(fixedDelayString = "${growloop.pickup.planning-interval-ms:900000}", initialDelay = 60000)
+    public void scheduledPlanning() {
+        planRoutes();
+    }
+
+    public PickupPlanDTO planRoutes() {
+        long start = System.nanoTime();
+
+        List<PickupStop> stops = bagRepository.findAwaitingPickupStops();
+        long awaiting = bagRepository.countByStatus(BagStatus.AWAITING_PICKUP);
+        List<PickupRouteDTO> routes = planner.plan(stops);
+
+        PickupPlanDTO plan = new PickupPlanDTO();
+        plan.setGeneratedAt(LocalDateTime.now());
+        plan.setPlannedBags(stops.size());
+        plan.setUnlocatedBags(Math.max(0, awaiting - stops.size()));
+        plan.setPlanningMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        plan.setRoutes(routes);
+        latestPlan.set(plan);
+
+        log.info("Planned {} pickup routes for {} bags in {} ms ({} bags without coordinates)",
+                routes.size(), stops.size(), plan.getPlanningMillis(), plan.getUnlocatedBags());
+        return plan;
+    }
+
+    public PickupPlanDTO getLatestPlan() {
+        PickupPlanDTO plan = latestPlan.get();
+        return plan != null ? plan : planRoutes();
+    }
+}
@@ -0,0 +1,208 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.PointsBalanceDTO;
+import com.growloop.growloop_backend.authentication.Dto.PointsLedgerEntryDTO;
+import com.growloop.growloop_backend.authentication.Dto.UserPointsDelta;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.entity.PointsBalanceSnapshot;
+import com.growloop.growloop_backend.entity.PointsLedgerEntry;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.PointsEntryType;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.event.PointsPostedEvent;
+import com.growloop.growloop_backend.repository.PointsBalanceSnapshotRepository;
+import com.growloop.growloop_backend.repository.PointsLedgerRepository;
+import com.growloop.growloop_backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Loyalty points as an append-only ledger. Balances are read as the latest per-user snapshot plus the
+// entries created since it; a scheduled job rolls each window of new entries into fresh snapshots.
+// Windows are cut by created_at, so every transaction that posts entries runs with a timeout
+// (growloop.points.posting-timeout-s) shorter than the snapshot lag: an entry is committed, or rolled
+// back, before any window can close over its created_at.
+@Slf4j
+@Service
+@Transactional
+public class PointsLedgerService {
+
+    // Statuses in which an item's loyalty points count as earned by its contributor
+    private static final Set<ItemStatus> EARNING_STATUSES =
+            EnumSet.of(ItemStatus.APPROVED, ItemStatus.LISTED, ItemStatus.SOLD, ItemStatus.RECYCLED);
+
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int SNAPSHOT_LOOKUP_CHUNK = 1000;
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private PointsBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Entries become part of a snapshot only once they are this old, so a transaction that stamped
+    // created_at just before the window end but committed after the job ran is still picked up
+    @Value("${growloop.points.snapshot-lag-ms:300000}")
+    private long snapshotLagMs;
+
+    // Timeout of the transactions that post entries; it has to stay below the snapshot lag
+    @Value("${growloop.points.posting-timeout-s:60}")
+    private long postingTimeoutSeconds;
+
+    @PostConstruct
+    public void checkSnapshotLag() {
+        if (snapshotLagMs <= TimeUnit.SECONDS.toMillis(postingTimeoutSeconds)) {
+            log.warn("growloop.points.snapshot-lag-ms ({}) is not above the posting timeout ({}s); "
+                    + "entries committing late can be left out of balance snapshots", snapshotLagMs, postingTimeoutSeconds);
+        }
+    }
+
+    // Points an item has earned its contributor in its current state
+    public static int earnedPoints(Item item) {
+        BigDecimal points = item.getLoyaltyPoint();
+        return points != null && EARNING_STATUSES.contains(item.getStatus()) ? points.intValue() : 0;
+    }
+
+    // Ledger entry for an item whose earned points went from earnedBefore to earnedPoints(item), or null
+    public static PointsLedgerEntry itemEntry(Item item, int earnedBefore) {
+        int earnedAfter = earnedPoints(item);
+        int amount = earnedAfter - earnedBefore;
+        if (amount == 0) {
+            return null;
+        }
+        PointsEntryType type = earnedBefore == 0 ? PointsEntryType.ITEM_APPROVED
+                : earnedAfter == 0 ? PointsEntryType.ITEM_REVOKED
+                : PointsEntryType.ITEM_ADJUSTED;
+        return PointsLedgerEntry.builder()
+                .user(item.getContributor())
+                .amount(amount)
+                .entryType(type)
+                .itemId(item.getItemId())
+                .description(type.getDisplayName() + ": " + item.getItemType())
+                .build();
+    }
+
+    // Write entries in the caller's transaction, which must carry the posting timeout (see the class comment);
+    // a pooled id sequence lets them go out as one batch
+    public void post(List<PointsLedgerEntry> entries) {
+        if (!entries.isEmpty()) {
+            pointsLedgerRepository.saveAll(entries).forEach(this::published);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PointsBalanceDTO getBalance(long userId) {
+        PointsBalanceDTO dto = new PointsBalanceDTO();
+        dto.setUserId(userId);
+        PointsBalanceSnapshot snapshot = snapshotRepository.findTopByUserUserIdOrderByCoveredUntilDesc(userId)
+                .orElse(null);
+        if (snapshot == null) {
+            dto.setBalance(pointsLedgerRepository.sumAll(userId));
+            dto.setEntriesSinceSnapshot(pointsLedgerRepository.countAll(userId));
+        } else {
+            dto.setBalance(snapshot.getBalance() + pointsLedgerRepository.sumSince(userId, snapshot.getCoveredUntil()));
+            dto.setSnapshotCoveredUntil(snapshot.getCoveredUntil());
+            dto.setEntriesSinceSnapshot(pointsLedgerRepository.countSince(userId, snapshot.getCoveredUntil()));
+        }
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PointsLedgerEntryDTO> getHistory(long userId, int page, int size) {
+        return pointsLedgerRepository.findHistory(userId, PageRequest.of(page, size)).stream()
+                .map(PointsLedgerEntryDTO::fromEntry)
+                .collect(Collectors.toList());
+    }
+
+    // Debit with a balance check; the users row lock keeps two redemptions from both passing the check
+    @Transactional(timeoutString = "${growloop.points.posting-timeout-s:60}")
+    public PointsBalanceDTO redeem(UserPrincipal principal, int points, String description) {
+        User user = userRepository.lockById(principal.userId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        long balance = getBalance(user.getUserId()).getBalance();
+        if (balance < points) {
+            throw new RuntimeException("Insufficient points: balance is " + balance);
+        }
+
+        published(pointsLedgerRepository.save(PointsLedgerEntry.builder()
+                .user(user)
+                .amount(-points)
+                .entryType(PointsEntryType.REDEEMED)
+                .description(description != null ? description : PointsEntryType.REDEEMED.getDisplayName())
+                .build()));
+        return getBalance(user.getUserId());
+    }
+
+    // created_at may only be filled in at flush; the commit follows within milliseconds
+    private void published(PointsLedgerEntry entry) {
+        LocalDateTime createdAt = entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now();
+        eventPublisher.publishEvent(new PointsPostedEvent(entry.getEntryId(),
+                entry.getUser().getUserId(), entry.getAmount(), entry.getEntryType(), createdAt));
+    }
+
+    // Roll the entries created since the last window into new snapshots for the users that have any.
+    // Windows are contiguous, so a user's latest snapshot plus its tail always covers the full ledger.
+    @Scheduled(fixedDelayString = "${growloop.points.snapshot-interval-ms:3600000}",
+            initialDelayString = "${growloop.points.snapshot-interval-ms:3600000}")
+    public void takeSnapshots() {
+        LocalDateTime from = snapshotRepository.findLatestCoveredUntil();
+        if (from == null) {
+            from = LEDGER_START;
+        }
+        LocalDateTime to = LocalDateTime.now().minus(Duration.ofMillis(snapshotLagMs));
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        List<UserPointsDelta> deltas = pointsLedgerRepository.sumByUserBetween(from, to);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> previous = new HashMap<>();
+        List<Long> userIds = deltas.stream().map(UserPointsDelta::getUserId).collect(Collectors.toList());
+        for (int i = 0; i < userIds.size(); i += SNAPSHOT_LOOKUP_CHUNK) {
+            for (PointsBalanceSnapshot snapshot : snapshotRepository.findLatestForUsers(
+                    userIds.subList(i, Math.min(i + SNAPSHOT_LOOKUP_CHUNK, userIds.size())))) {
+                previous.put(snapshot.getUser().getUserId(), snapshot.getBalance());
+            }
+        }
+
+        List<PointsBalanceSnapshot> snapshots = new ArrayList<>(deltas.size());
+        for (UserPointsDelta delta : deltas) {
+            snapshots.add(PointsBalanceSnapshot.builder()
+                    .user(userRepository.getReferenceById(delta.getUserId()))
+                    .balance(previous.getOrDefault(delta.getUserId(), 0L) + delta.getAmount())
+                    .coveredUntil(to)
+                    .build());
+        }
+        snapshotRepository.saveAll(snapshots);
+        log.info("Points snapshot up to {}: {} users", to, snapshots.size());
+    }
+}
@@ -0,0 +1,138 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemUpdateRequest;
+import com.growloop.growloop_backend.authentication.Dto.QcClaimDTO;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// PENDING_QC items handed out to graders in leased batches. Claiming locks rows with
+// FOR UPDATE SKIP LOCKED, so concurrent graders take disjoint batches without waiting on each other;
+// a lease that runs out puts its items back in the queue.
+@Slf4j
+@Service
+@Transactional
+public class QcWorkQueue {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.qc.lease-duration-ms:300000}")
+    private long leaseDurationMs;
+
+    @Value("${growloop.qc.max-claim-batch:50}")
+    private int maxClaimBatch;
+
+    private Counter claimedCounter;
+    private Counter completedCounter;
+    private Counter reclaimedCounter;
+
+    @PostConstruct
+    public void registerMetrics() {
+        claimedCounter = Counter.builder("growloop.qc.queue.claimed")
+                .description("Items leased to graders")
+                .register(meterRegistry);
+        completedCounter = Counter.builder("growloop.qc.queue.completed")
+                .description("Items graded under a valid lease")
+                .register(meterRegistry);
+        reclaimedCounter = Counter.builder("growloop.qc.queue.reclaimed")
+                .description("Expired leases returned to the queue")
+                .register(meterRegistry);
+    }
+
+    // Lease up to batchSize of the oldest available items to workerId
+    public QcClaimDTO claim(String workerId, int batchSize) {
+        if (batchSize < 1 || batchSize > maxClaimBatch) {
+            throw new RuntimeException("Batch size must be between 1 and " + maxClaimBatch);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusNanos(leaseDurationMs * 1_000_000L);
+
+        List<Item> locked = itemRepository.lockClaimableForQc(now, batchSize);
+        for (Item item : locked) {
+            item.setQcLeaseOwner(workerId);
+            item.setQcLeaseExpiresAt(expiresAt);
+        }
+        itemRepository.saveAll(locked);
+        claimedCounter.increment(locked.size());
+
+        QcClaimDTO claim = new QcClaimDTO();
+        claim.setWorkerId(workerId);
+        claim.setLeaseExpiresAt(expiresAt);
+        claim.setItems(locked.isEmpty() ? List.of() : itemRepository.findByItemIdInWithDetails(
+                        locked.stream().map(Item::getItemId).collect(Collectors.toList())).stream()
+                .map(ItemResponseDTO::fromItem)
+                .collect(Collectors.toList()));
+        return claim;
+    }
+
+    // Grade an item the worker still holds; fails if the lease ran out or moved to another grader
+    public ItemResponseDTO complete(Long itemId, String workerId, ItemUpdateRequest request) {
+        if (request.getStatus() == null || request.getStatus() == ItemStatus.PENDING_QC) {
+            throw new RuntimeException("QC result must move the item out of PENDING_QC");
+        }
+
+        Item item = lockLeasedItem(itemId, workerId);
+        item.setQcLeaseOwner(null);
+        item.setQcLeaseExpiresAt(null);
+        itemRepository.save(item);
+
+        ItemResponseDTO graded = itemService.updateItem(itemId, request);
+        completedCounter.increment();
+        return graded;
+    }
+
+    // Hand an item back without grading it
+    public void release(Long itemId, String workerId) {
+        Item item = lockLeasedItem(itemId, workerId);
+        item.setQcLeaseOwner(null);
+        item.setQcLeaseExpiresAt(null);
+        itemRepository.save(item);
+    }
+
+    // Claims already skip expired leases; this clears them so the queue reflects who holds what
+    @Scheduled(fixedDelayString = "${growloop.qc.reclaim-interval-ms:60000}",
+            initialDelayString = "${growloop.qc.reclaim-interval-ms:60000}")
+    public void reclaimExpiredLeases() {
+        int reclaimed = itemRepository.clearExpiredQcLeases(LocalDateTime.now());
+        if (reclaimed > 0) {
+            reclaimedCounter.increment(reclaimed);
+            log.info("Returned {} items with expired QC leases to the queue", reclaimed);
+        }
+    }
+
+    // Row lock first so a completion cannot race a reclaim or another grader's claim
+    private Item lockLeasedItem(Long itemId, String workerId) {
+        Item item = itemRepository.lockById(itemId)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+        boolean held = Objects.equals(item.getQcLeaseOwner(), workerId)
+                && item.getQcLeaseExpiresAt() != null
+                && item.getQcLeaseExpiresAt().isAfter(LocalDateTime.now());
+        if (!held || item.getStatus() != ItemStatus.PENDING_QC) {
+            throw new RuntimeException("No active QC lease on this item for " + workerId);
+        }
+        return item;
+    }
+}
@@ -0,0 +1,183 @@
+package com.growloop.growloop_backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Scores per user kept in an order-statistic treap (highest score first, ties by lower user id) so that
+// updates, rank lookups and the first of a top-N read are O(log n). Users at zero or below are tracked
+// but not ranked. Not thread-safe; LeaderboardService guards it with a read/write lock.
+public class RankedScoreboard {
+
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public record Ranked(int rank, long userId, long score) {
+    }
+
+    private static final class Node {
+        final long userId;
+        final long score;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(long userId, long score, int priority) {
+            this.userId = userId;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    public void add(long userId, long delta) {
+        if (delta != 0) {
+            set(userId, scores.getOrDefault(userId, 0L) + delta);
+        }
+    }
+
+    public void set(long userId, long score) {
+        Long previous = scores.put(userId, score);
+        if (previous != null && previous > 0) {
+            root = erase(root, previous, userId);
+        }
+        if (score > 0) {
+            root = insert(root, new Node(userId, score, random.nextInt()));
+        }
+    }
+
+    public long score(long userId) {
+        return scores.getOrDefault(userId, 0L);
+    }
+
+    // 1-based rank, or 0 if the user has no positive score
+    public int rank(long userId) {
+        long score = score(userId);
+        return score > 0 ? countBefore(score, userId) + 1 : 0;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public List<Ranked> top(int limit) {
+        List<Ranked> result = new ArrayList<>(Math.min(limit, size()));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(new Ranked(result.size() + 1, node.userId, node.score));
+            node = node.right;
+        }
+        return result;
+    }
+
+    private static int compare(long score, long userId, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return Long.compare(userId, node.userId);
+    }
+
+    private int countBefore(long score, long userId) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(score, userId, node);
+            if (c == 0) {
+                return count + size(node.left);
+            }
+            if (c < 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added.score, added.userId);
+            added.left = parts[0];
+            added.right = parts[1];
+            return update(added);
+        }
+        if (compare(added.score, added.userId, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return update(node);
+    }
+
+    private Node erase(Node node, long score, long userId) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(score, userId, node);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = erase(node.left, score, userId);
+        } else {
+            node.right = erase(node.right, score, userId);
+        }
+        return update(node);
+    }
+
+    // Nodes ordered before (score, userId) and the rest
+    private Node[] split(Node node, long score, long userId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(score, userId, node) > 0) {
+            Node[] parts = split(node.right, score, userId);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, score, userId);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,390 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.entity.Recycler;
+import com.growloop.growloop_backend.event.RecyclerChangedEvent;
+import com.growloop.growloop_backend.event.RecyclerIndexRebuiltEvent;
+import com.growloop.growloop_backend.repository.RecyclerRepository;
+import com.growloop.growloop_backend.utilityFunctions.GeoUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory lat/long grid over all recyclers so nearby lookups skip the DB round trip.
+// Built from findAll() at startup and refreshed incrementally from updated_at.
+@Slf4j
+@Service
+public class RecyclerSpatialIndex {
+
+    // ~11 km per cell at the equator
+    private static final double CELL_SIZE_DEG = 0.1;
+    private static final double CELL_SIZE_KM = 11.0;
+    private static final double MAX_SEARCH_RADIUS_KM = 20_000.0;
+    private static final AcceptedItemCategories.Required ANY_CATEGORY = new AcceptedItemCategories.Required(0L, Set.of());
+
+    @Autowired
+    private RecyclerRepository recyclerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${growloop.recyclers.index.refresh-overlap-ms:120000}")
+    private long refreshOverlapMs;
+
+    private final AcceptedItemCategories categories = new AcceptedItemCategories();
+
+    private volatile Grid grid = new Grid();
+    private volatile boolean loaded;
+    private volatile LocalDateTime lastSeenUpdate;
+
+    // Serializes rebuilds and incremental refreshes; readers never take it
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Timer rebuildTimer;
+    private Timer queryTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("growloop.recyclers.index.size", this, index -> index.size())
+                .description("Recyclers held in the in-memory spatial index")
+                .register(meterRegistry);
+        Gauge.builder("growloop.recyclers.index.unmasked-categories", categories,
+                        AcceptedItemCategories::overflowSize)
+                .description("Accepted-item categories past the 64-bit mask, matched by name")
+                .register(meterRegistry);
+        rebuildTimer = Timer.builder("growloop.recyclers.index.rebuild")
+                .description("Full rebuild time of the recycler index")
+                .register(meterRegistry);
+        queryTimer = Timer.builder("growloop.recyclers.index.query")
+                .description("Radius / k-nearest query latency against the recycler index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return grid.entries.size();
+    }
+
+    public Recycler get(long recyclerId) {
+        IndexedRecycler entry = grid.entries.get(recyclerId);
+        return entry != null ? entry.recycler : null;
+    }
+
+    // Rebuild the whole grid from the recyclers table
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            Grid fresh = new Grid();
+            LocalDateTime newest = null;
+            for (Recycler recycler : recyclerRepository.findAll()) {
+                fresh.put(IndexedRecycler.of(recycler, categories));
+                newest = later(newest, recycler.getUpdatedAt());
+            }
+            grid = fresh;
+            lastSeenUpdate = newest;
+            loaded = true;
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Recycler index rebuilt: {} recyclers in {} ms", fresh.entries.size(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+            eventPublisher.publishEvent(new RecyclerIndexRebuiltEvent(fresh.entries.size()));
+        } catch (Exception e) {
+            log.warn("Recycler index rebuild failed: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Pull rows whose updated_at moved since the last pass; fall back to a rebuild when rows disappeared.
+    // updated_at is stamped by the writing instance before it commits, so a row can become visible with an
+    // updated_at older than the newest one already seen (a slow transaction, another instance's clock). The
+    // scan re-reads refresh-overlap-ms before that mark; rows that haven't changed are skipped by Grid.put.
+    @Scheduled(fixedDelayString = "${growloop.recyclers.index.refresh-interval-ms:30000}",
+            initialDelayString = "${growloop.recyclers.index.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!loaded) {
+            rebuild();
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            if (lastSeenUpdate != null) {
+                Grid current = grid;
+                LocalDateTime newest = lastSeenUpdate;
+                LocalDateTime since = lastSeenUpdate.minus(Duration.ofMillis(refreshOverlapMs));
+                for (Recycler recycler : recyclerRepository.findByUpdatedAtGreaterThanEqual(since)) {
+                    IndexedRecycler previous = current.entries.get(recycler.getRecyclerId());
+                    if (current.put(IndexedRecycler.of(recycler, categories))) {
+                        eventPublisher.publishEvent(new RecyclerChangedEvent(
+                                recycler.getRecyclerId(),
+                                previous != null ? previous.latitude : null,
+                                previous != null ? previous.longitude : null,
+                                recycler.getLatitude(), recycler.getLongitude()
+                        ));
+                    }
+                    newest = later(newest, recycler.getUpdatedAt());
+                }
+                lastSeenUpdate = newest;
+            }
+
+            if (recyclerRepository.count() != grid.entries.size()) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("Recycler index refresh failed: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // All recyclers within radiusKm, closest first
+    public List<NearbyRecycler> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        return queryTimer.record(() -> {
+            List<NearbyRecycler> hits = scan(grid, latitude, longitude, radiusKm);
+            hits.sort(Comparator.comparingDouble(NearbyRecycler::distanceKm));
+            return hits;
+        });
+    }
+
+    // Filter for the requested accepted-item categories; null when nobody accepts one of them
+    public AcceptedItemCategories.Required acceptedItemsFilter(Collection<String> acceptedItems) {
+        return categories.required(acceptedItems);
+    }
+
+    // The k closest recyclers within maxRadiusKm whose accepted items cover required.
+    // Widens the search ring until the k-th best is inside it, keeping only a k-sized max-heap.
+    public List<NearbyRecycler> findNearest(double latitude, double longitude, int k,
+                                            double maxRadiusKm, AcceptedItemCategories.Required required) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        return queryTimer.record(() -> {
+            Grid current = grid;
+            // The heap grows as needed; don't size it up front from a caller-supplied k
+            PriorityQueue<NearbyRecycler> heap = new PriorityQueue<>(Math.min(k, 1024) + 1,
+                    Comparator.comparingDouble(NearbyRecycler::distanceKm).reversed());
+            Set<Long> visitedCells = new HashSet<>();
+
+            double limit = Math.min(maxRadiusKm, MAX_SEARCH_RADIUS_KM);
+            double radius = Math.min(CELL_SIZE_KM, limit);
+            while (true) {
+                scanNearest(current, latitude, longitude, radius, limit, required, k, heap, visitedCells);
+                boolean settled = heap.size() == k && heap.peek().distanceKm() <= radius;
+                if (settled || radius >= limit) {
+                    break;
+                }
+                radius = Math.min(radius * 2, limit);
+            }
+
+            List<NearbyRecycler> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingDouble(NearbyRecycler::distanceKm));
+            return result;
+        });
+    }
+
+    public List<NearbyRecycler> findNearest(double latitude, double longitude, int k, double maxRadiusKm) {
+        return findNearest(latitude, longitude, k, maxRadiusKm, ANY_CATEGORY);
+    }
+
+    private void scanNearest(Grid current, double latitude, double longitude, double radiusKm, double limitKm,
+                             AcceptedItemCategories.Required required, int k, PriorityQueue<NearbyRecycler> heap,
+                             Set<Long> visitedCells) {
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+        long minLatCell = cell(box.minLat());
+        long maxLatCell = cell(box.maxLat());
+        long minLonCell = cell(box.minLon());
+        long maxLonCell = cell(box.maxLon());
+        long cellCount = (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+
+        if (cellCount > current.cells.size()) {
+            for (Map.Entry<Long, Set<IndexedRecycler>> cell : current.cells.entrySet()) {
+                if (visitedCells.add(cell.getKey())) {
+                    offer(cell.getValue(), latitude, longitude, limitKm, required, k, heap);
+                }
+            }
+            return;
+        }
+
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (long lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                long key = cellKey(latCell, lonCell);
+                Set<IndexedRecycler> cell = current.cells.get(key);
+                if (cell != null && visitedCells.add(key)) {
+                    offer(cell, latitude, longitude, limitKm, required, k, heap);
+                }
+            }
+        }
+    }
+
+    private static void offer(Set<IndexedRecycler> cell, double latitude, double longitude, double limitKm,
+                              AcceptedItemCategories.Required required, int k, PriorityQueue<NearbyRecycler> heap) {
+        for (IndexedRecycler entry : cell) {
+            if ((entry.acceptedMask & required.mask()) != required.mask()
+                    || !entry.unmaskedCategories.containsAll(required.unmasked())) {
+                continue;
+            }
+            double distance = GeoUtils.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance > limitKm) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(new NearbyRecycler(entry.recycler, distance));
+            } else if (distance < heap.peek().distanceKm()) {
+                heap.poll();
+                heap.add(new NearbyRecycler(entry.recycler, distance));
+            }
+        }
+    }
+
+    private List<NearbyRecycler> scan(Grid current, double latitude, double longitude, double radiusKm) {
+        List<NearbyRecycler> hits = new ArrayList<>();
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+
+        long minLatCell = cell(box.minLat());
+        long maxLatCell = cell(box.maxLat());
+        long minLonCell = cell(box.minLon());
+        long maxLonCell = cell(box.maxLon());
+        long cellCount = (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+
+        if (cellCount > current.cells.size()) {
+            // Huge radius: walking the occupied cells is cheaper than walking the box
+            for (Set<IndexedRecycler> cell : current.cells.values()) {
+                collect(cell, latitude, longitude, radiusKm, hits);
+            }
+            return hits;
+        }
+
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (long lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                Set<IndexedRecycler> cell = current.cells.get(cellKey(latCell, lonCell));
+                if (cell != null) {
+                    collect(cell, latitude, longitude, radiusKm, hits);
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static void collect(Set<IndexedRecycler> cell, double latitude, double longitude,
+                                double radiusKm, List<NearbyRecycler> hits) {
+        for (IndexedRecycler entry : cell) {
+            double distance = GeoUtils.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance <= radiusKm) {
+                hits.add(new NearbyRecycler(entry.recycler, distance));
+            }
+        }
+    }
+
+    private static long cell(double degrees) {
+        return (long) Math.floor(degrees / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(long latCell, long lonCell) {
+        return (latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    public record NearbyRecycler(Recycler recycler, double distanceKm) {
+    }
+
+    // Immutable view of one recycler; identity is what the cell sets key on
+    static final class IndexedRecycler {
+        final long recyclerId;
+        final double latitude;
+        final double longitude;
+        final LocalDateTime updatedAt;
+        final long acceptedMask;
+        final Set<String> unmaskedCategories;
+        final Recycler recycler;
+
+        private IndexedRecycler(Recycler recycler, long acceptedMask, Set<String> unmaskedCategories) {
+            this.recyclerId = recycler.getRecyclerId();
+            this.latitude = recycler.getLatitude();
+            this.longitude = recycler.getLongitude();
+            this.updatedAt = recycler.getUpdatedAt();
+            this.acceptedMask = acceptedMask;
+            this.unmaskedCategories = unmaskedCategories;
+            this.recycler = recycler;
+        }
+
+        static IndexedRecycler of(Recycler recycler, AcceptedItemCategories categories) {
+            // maskOf first: it is what moves a new category into the overflow set
+            long mask = categories.maskOf(recycler.getAcceptedItems());
+            return new IndexedRecycler(recycler, mask, categories.unmaskedOf(recycler.getAcceptedItems()));
+        }
+
+        long cellKey() {
+            return RecyclerSpatialIndex.cellKey(cell(latitude), cell(longitude));
+        }
+    }
+
+    private static final class Grid {
+        final Map<Long, IndexedRecycler> entries = new ConcurrentHashMap<>();
+        final Map<Long, Set<IndexedRecycler>> cells = new ConcurrentHashMap<>();
+
+        // Returns false when the entry is already indexed unchanged
+        boolean put(IndexedRecycler entry) {
+            IndexedRecycler previous = entries.get(entry.recyclerId);
+            if (previous != null && Objects.equals(previous.updatedAt, entry.updatedAt)
+                    && previous.latitude == entry.latitude && previous.longitude == entry.longitude) {
+                return false;
+            }
+
+            cells.computeIfAbsent(entry.cellKey(), key -> ConcurrentHashMap.newKeySet()).add(entry);
+            entries.put(entry.recyclerId, entry);
+            if (previous != null) {
+                Set<IndexedRecycler> oldCell = cells.get(previous.cellKey());
+                if (oldCell != null) {
+                    oldCell.remove(previous);
+                    if (oldCell.isEmpty()) {
+                        cells.remove(previous.cellKey(), oldCell);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
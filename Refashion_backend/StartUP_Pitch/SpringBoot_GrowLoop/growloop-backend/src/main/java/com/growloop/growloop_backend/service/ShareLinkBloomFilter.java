@@ -0,0 +1,73 @@
+package com.growloop.growloop_backend.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over share tokens: mightContain never misses a token that was put, and answers true for
+// an absent token with roughly the configured probability while the count stays under expectedTokens.
+// Puts are lock-free, so the filter can be filled while it is being queried.
+public class ShareLinkBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public ShareLinkBloomFilter(long expectedTokens, double falsePositiveRate) {
+        long n = Math.max(1, expectedTokens);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long words = Math.max(1, (m + 63) / 64);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedTokens + " tokens");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String token) {
+        long h1 = hash(token, 0x9E3779B97F4A7C15L);
+        long h2 = hash(token, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String token) {
+        long h1 = hash(token, 0x9E3779B97F4A7C15L);
+        long h2 = hash(token, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // FNV-1a over the chars followed by the murmur3 finalizer, seeded so the two hashes are independent
+    private static long hash(String token, long seed) {
+        long h = seed;
+        for (int i = 0; i < token.length(); i++) {
+            h = (h ^ token.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
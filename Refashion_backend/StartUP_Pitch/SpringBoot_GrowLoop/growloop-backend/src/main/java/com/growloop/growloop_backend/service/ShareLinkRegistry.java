@@ -0,0 +1,201 @@
+package com.growloop.growloop_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.OutboxTailListener;
+import com.growloop.growloop_backend.repository.BagRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Share-token lookups for /api/bags/share/{token}. A Bloom filter over every issued token turns away
+// guessed or scraped tokens without touching MySQL, and resolved bag summaries are cached briefly.
+// The filter must never miss an issued token: tokens issued by other instances arrive with their
+// BAG_CREATED event on the outbox tail, and a periodic refresh from recently created bags backs that up
+// (bags written without newToken, events the tail skipped). Until the first full load finishes the filter
+// is bypassed rather than trusted.
+@Slf4j
+@Service
+public class ShareLinkRegistry implements OutboxTailListener {
+
+    private static final int LOAD_PAGE_SIZE = 10000;
+    private static final int MAX_TOKEN_ATTEMPTS = 10;
+
+    @Autowired
+    private BagRepository bagRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.bags.share-filter.expected-tokens:1000000}")
+    private long expectedTokens;
+
+    @Value("${growloop.bags.share-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${growloop.bags.share-filter.refresh-interval-ms:30000}")
+    private long refreshIntervalMs;
+
+    @Value("${growloop.bags.share-cache.max-entries:10000}")
+    private long cacheMaxEntries;
+
+    @Value("${growloop.bags.share-cache.ttl-ms:10000}")
+    private long cacheTtlMs;
+
+    private ShareLinkBloomFilter filter;
+    private volatile boolean loaded;
+    private LocalDateTime refreshedUntil;
+
+    private Cache<String, BagResponseDTO> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private Counter rejectedTokens;
+
+    @PostConstruct
+    public void init() {
+        filter = new ShareLinkBloomFilter(expectedTokens, falsePositiveRate);
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bags.share");
+        rejectedTokens = Counter.builder("growloop.bags.share-links.rejected")
+                .description("Share-token lookups turned away by the Bloom filter without a query")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            load();
+        } catch (Exception e) {
+            log.warn("Could not load share tokens; lookups will skip the filter: {}", e.getMessage());
+        }
+    }
+
+    // Fresh token that no existing bag uses. A filter miss proves the token is unused; a hit is usually
+    // a false positive and is checked against the unique index before the token is thrown away.
+    public String newToken() {
+        for (int attempt = 0; attempt < MAX_TOKEN_ATTEMPTS; attempt++) {
+            String token = Bag.newShareToken();
+            if (!loaded || filter.mightContain(token)) {
+                if (bagRepository.existsBySharableLink(token)) {
+                    continue;
+                }
+            }
+            filter.put(token);
+            return token;
+        }
+        throw new RuntimeException("Could not generate a unique share link");
+    }
+
+    // Bag summary for a share token; the loader runs on a cache miss for a token the filter may know
+    public BagResponseDTO resolve(String token, Function<String, BagResponseDTO> loader) {
+        if (loaded && !filter.mightContain(token)) {
+            rejectedTokens.increment();
+            throw new RuntimeException("Invalid or expired share link");
+        }
+        BagResponseDTO bag = cache.getIfPresent(token);
+        if (bag == null) {
+            // Not cache.get(token, loader): the loader queries MySQL and shouldn't run under the map's bin lock
+            long seen = invalidations.get();
+            bag = loader.apply(token);
+            // Not cached if evict() ran during the read, or a pre-change summary would outlive the change
+            if (invalidations.get() == seen) {
+                cache.put(token, bag);
+            }
+        }
+        return bag;
+    }
+
+    // Drop a cached summary when the bag's status changes (e.g. no longer OPEN)
+    public void evict(String token) {
+        if (token == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.invalidate(token);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    cache.invalidate(token);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onOutboxEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event.type() == DomainEventType.BAG_CREATED) {
+                String token = event.payload(BagResponseDTO.class).getSharableLink();
+                if (token != null) {
+                    filter.put(token);
+                }
+            }
+        }
+    }
+
+    // Backstop for tokens the tail can miss (bags persisted without newToken, skipped outbox events).
+    // The window overlaps by one interval so a bag committed late still has its created_at covered.
+    @Scheduled(fixedDelayString = "${growloop.bags.share-filter.refresh-interval-ms:30000}",
+            initialDelayString = "${growloop.bags.share-filter.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!loaded) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<String> tokens = bagRepository.findShareTokensCreatedSince(
+                refreshedUntil.minus(Duration.ofMillis(refreshIntervalMs)));
+        tokens.forEach(filter::put);
+        refreshedUntil = now;
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        LocalDateTime loadStart = LocalDateTime.now();
+        long count = 0;
+        String after = "";
+        while (true) {
+            List<String> page = bagRepository.findShareTokensAfter(after, PageRequest.of(0, LOAD_PAGE_SIZE));
+            page.forEach(filter::put);
+            count += page.size();
+            if (page.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+        }
+        refreshedUntil = loadStart;
+        loaded = true;
+        // Tokens created while the pages were read are caught by the next refresh
+        log.info("Share-link filter loaded: {} tokens, {} bits, {} hashes in {} ms",
+                count, filter.bitCount(), filter.hashCount(), (System.nanoTime() - start) / 1_000_000);
+        if (count > expectedTokens) {
+            log.warn("Share tokens ({}) exceed growloop.bags.share-filter.expected-tokens ({}); " +
+                    "the false-positive rate is above target", count, expectedTokens);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.growloop.growloop_backend.service;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+// Rebuilds an in-memory view from MySQL while after-commit events keep arriving, without applying any
+// event twice or losing one. Each event names a row its transaction wrote (a ledger entry id, an item id);
+// events that commit during a rebuild are held, and once the load is done they are replayed only if that
+// row was not visible to the load. The load, its high-water mark (the highest row id it saw) and the
+// visibility checks share one REPEATABLE READ snapshot: ids above the mark are new, ids at or below it are
+// looked up, since pooled sequences hand out ids out of commit order. Events with row id 0 are replayed
+// unconditionally, so their apply must be idempotent. One rebuild runs at a time; not a Spring bean, the
+// owning service creates it with the lock that guards its view.
+public class SnapshotRebuild<E> {
+
+    public static final long NO_ROW = 0;
+
+    private final Lock lock;
+    private final ToLongFunction<E> rowId;
+    private final TransactionTemplate snapshot;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Guarded by lock; held[0, checked) have already been looked up against the load
+    private boolean rebuilding;
+    private final List<E> held = new ArrayList<>();
+    private int checked;
+
+    public SnapshotRebuild(PlatformTransactionManager transactionManager, Lock lock, ToLongFunction<E> rowId) {
+        this.lock = lock;
+        this.rowId = rowId;
+        this.snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshot.setReadOnly(true);
+    }
+
+    // Caller holds the lock. True when the event was held for the running rebuild and must not be applied now.
+    public boolean holdIfRebuilding(E event) {
+        if (!rebuilding) {
+            return false;
+        }
+        held.add(event);
+        return true;
+    }
+
+    // Loads a new view and installs it under the lock, then applies the held events it doesn't include.
+    // Returns false without doing anything when another rebuild is running. If the load fails, the held
+    // events are applied to the current view and the exception is rethrown.
+    public <V> boolean rebuild(Supplier<V> load, LongSupplier highWaterMark,
+                               Function<Collection<Long>, Collection<Long>> visibleRowIds,
+                               Consumer<V> install, Consumer<E> apply) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            lock.lock();
+            try {
+                rebuilding = true;
+                held.clear();
+                checked = 0;
+            } finally {
+                lock.unlock();
+            }
+
+            snapshot.executeWithoutResult(status -> {
+                V view = load.get();
+                long mark = highWaterMark.getAsLong();
+                List<E> replay = new ArrayList<>();
+                while (true) {
+                    List<E> batch;
+                    lock.lock();
+                    try {
+                        if (checked == held.size()) {
+                            install.accept(view);
+                            replay.forEach(apply);
+                            held.clear();
+                            rebuilding = false;
+                            return;
+                        }
+                        batch = new ArrayList<>(held.subList(checked, held.size()));
+                        checked = held.size();
+                    } finally {
+                        lock.unlock();
+                    }
+                    replay.addAll(notLoaded(batch, mark, visibleRowIds));
+                }
+            });
+            return true;
+        } finally {
+            lock.lock();
+            try {
+                if (rebuilding) {
+                    held.forEach(apply);
+                    held.clear();
+                    rebuilding = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+            running.set(false);
+        }
+    }
+
+    private List<E> notLoaded(List<E> batch, long mark, Function<Collection<Long>, Collection<Long>> visibleRowIds) {
+        Set<Long> lookup = new HashSet<>();
+        for (E event : batch) {
+            long id = rowId.applyAsLong(event);
+            if (id != NO_ROW && id <= mark) {
+                lookup.add(id);
+            }
+        }
+        Set<Long> loaded = lookup.isEmpty() ? Set.of() : new HashSet<>(visibleRowIds.apply(lookup));
+        List<E> result = new ArrayList<>(batch.size());
+        for (E event : batch) {
+            if (!loaded.contains(rowId.applyAsLong(event))) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+}
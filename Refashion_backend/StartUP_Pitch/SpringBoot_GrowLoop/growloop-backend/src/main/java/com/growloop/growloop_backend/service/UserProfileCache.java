@@ -0,0 +1,78 @@
+package com.growloop.growloop_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.growloop.growloop_backend.authentication.Dto.UserResponseDTO;
+import com.growloop.growloop_backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Profiles by user id for /api/auth/profile, whose caller is already authenticated by the session token.
+// Dropped on profile updates; other changes (e.g. loyalty balance) show up within the TTL.
+@Service
+public class UserProfileCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${growloop.users.profile-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${growloop.users.profile-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private Cache<Long, UserResponseDTO> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.profile");
+    }
+
+    // Queried outside the cache so the load doesn't hold a map lock (see UserPrincipalCache.resolve)
+    public UserResponseDTO get(long userId) {
+        UserResponseDTO profile = cache.getIfPresent(userId);
+        if (profile == null) {
+            long seen = invalidations.get();
+            profile = userRepository.findById(userId)
+                    .map(UserResponseDTO::fromUser)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // Not cached if invalidate() ran during the read
+            if (invalidations.get() == seen) {
+                cache.put(userId, profile);
+            }
+        }
+        return profile;
+    }
+
+    public void invalidate(long userId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.growloop.growloop_backend.service;
 import com.growloop.growloop_backend.authentication.Dto.UserRegistrationRequest;
 import com.growloop.growloop_backend.authentication.Dto.UserResponseDTO;
 import com.growloop.growloop_backend.authentication.Dto.UserUpdateRequest;
+import com.growloop.growloop_backend.authentication.UserPrincipalCache;
 import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
 import com.growloop.growloop_backend.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,15 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private OutboxService outboxService;
+
     public UserResponseDTO registerUser(String firebaseUid, UserRegistrationRequest request) {
 
         // Check if user already exists with this Firebase UID
@@ -55,6 +66,8 @@ public class UserService {
         User user = userRepository.findByFirebaseUid(firebaseUid)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        boolean renamed = request.getUserName() != null && !request.getUserName().equals(user.getUserName());
+
         // Update only non-null fields
         if (request.getUserName() != null) {
             user.setUserName(request.getUserName());
@@ -73,7 +86,15 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
-        return UserResponseDTO.fromUser(updatedUser);
+        // The cached principal carries the user name
+        userPrincipalCache.invalidate(firebaseUid);
+        userProfileCache.invalidate(updatedUser.getUserId());
+        UserResponseDTO response = UserResponseDTO.fromUser(updatedUser);
+        // Listings carry the contributor's name
+        if (renamed) {
+            outboxService.append(DomainEventType.USER_RENAMED, updatedUser.getUserId(), response);
+        }
+        return response;
     }
 
     // Check if user exists
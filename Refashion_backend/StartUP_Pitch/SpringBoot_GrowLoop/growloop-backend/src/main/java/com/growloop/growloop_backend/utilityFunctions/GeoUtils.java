@@ -0,0 +1,58 @@
+package com.growloop.growloop_backend.utilityFunctions;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GeoUtils() {
+    }
+
+    // Great-circle distance in km (Haversine formula)
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS_KM * c;
+    }
+
+    // Lat/long box that contains every point within radiusKm of the center.
+    // Falls back to the full longitude band near the poles or across the antimeridian.
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double latRad = Math.toRadians(latitude);
+        double lonRad = Math.toRadians(longitude);
+
+        double minLat = latRad - angularRadius;
+        double maxLat = latRad + angularRadius;
+
+        if (minLat <= -Math.PI / 2 || maxLat >= Math.PI / 2) {
+            return new BoundingBox(
+                    Math.toDegrees(Math.max(minLat, -Math.PI / 2)),
+                    Math.toDegrees(Math.min(maxLat, Math.PI / 2)),
+                    -180.0, 180.0
+            );
+        }
+
+        double deltaLon = Math.asin(Math.sin(angularRadius) / Math.cos(latRad));
+        double minLon = lonRad - deltaLon;
+        double maxLon = lonRad + deltaLon;
+
+        if (minLon < -Math.PI || maxLon > Math.PI) {
+            return new BoundingBox(Math.toDegrees(minLat), Math.toDegrees(maxLat), -180.0, 180.0);
+        }
+
+        return new BoundingBox(
+                Math.toDegrees(minLat), Math.toDegrees(maxLat),
+                Math.toDegrees(minLon), Math.toDegrees(maxLon)
+        );
+    }
+
+    public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.growloop.growloop_backend.authentication;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionTokenCodecTests {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void issuedTokenVerifies() {
+        SessionTokenCodec codec = new SessionTokenCodec(SECRET, Duration.ofHours(1), 100);
+
+        SessionToken claims = codec.verify(codec.issue(42L, "uid-42"));
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.firebaseUid()).isEqualTo("uid-42");
+        assertThat(claims.getName()).isEqualTo("uid-42");
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        SessionTokenCodec codec = new SessionTokenCodec(SECRET, Duration.ofHours(1), 0);
+        String token = codec.issue(42L, "uid-42");
+        String forged = new SessionTokenCodec("another-secret-another-secret-xx".getBytes(StandardCharsets.US_ASCII),
+                Duration.ofHours(1), 0).issue(43L, "uid-43");
+        String payload = token.substring(0, token.indexOf('.'));
+        String signature = token.substring(token.indexOf('.') + 1);
+
+        assertThat(codec.verify(forged)).isNull();
+        assertThat(codec.verify(forged.substring(0, forged.indexOf('.')) + "." + signature)).isNull();
+        assertThat(codec.verify(payload + "." + signature.substring(1))).isNull();
+        assertThat(codec.verify(payload)).isNull();
+        assertThat(codec.verify("token-42")).isNull();
+        assertThat(codec.verify("!!." + signature)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejectedEvenWhenCached() {
+        SessionTokenCodec codec = new SessionTokenCodec(SECRET, Duration.ofSeconds(-1), 100);
+
+        String token = codec.issue(42L, "uid-42");
+
+        assertThat(codec.verify(token)).isNull();
+        assertThat(codec.verify(token)).isNull();
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThatThrownBy(() -> new SessionTokenCodec(Arrays.copyOf(SECRET, 16), Duration.ofHours(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
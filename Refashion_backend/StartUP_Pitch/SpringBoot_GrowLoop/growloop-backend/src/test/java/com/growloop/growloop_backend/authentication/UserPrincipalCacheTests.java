@@ -0,0 +1,127 @@
+package com.growloop.growloop_backend.authentication;
+
+import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.service.BagCounterBuffer;
+import com.growloop.growloop_backend.service.BagService;
+import com.growloop.growloop_backend.service.FreePickupEligibilityTracker;
+import com.growloop.growloop_backend.service.OutboxService;
+import com.growloop.growloop_backend.service.ShareLinkRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Authenticated requests resolve the caller once per TTL instead of once per request
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({UserPrincipalCache.class, BagService.class, BagCounterBuffer.class, ShareLinkRegistry.class,
+        FreePickupEligibilityTracker.class, OutboxService.class, JacksonAutoConfiguration.class,
+        SimpleMeterRegistry.class})
+class UserPrincipalCacheTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private BagService bagService;
+
+    @Test
+    void cachedPrincipalNeedsNoStatement() {
+        User user = user("uid-1");
+        Statistics statistics = freshStatistics();
+
+        UserPrincipal first = userPrincipalCache.resolve("uid-1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        UserPrincipal second = userPrincipalCache.resolve("uid-1");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(second).isEqualTo(first);
+        assertThat(second.userId()).isEqualTo(user.getUserId());
+    }
+
+    @Test
+    void invalidatedPrincipalIsReloaded() {
+        User user = user("uid-2");
+        freshStatistics();
+        userPrincipalCache.resolve("uid-2");
+
+        User managed = entityManager.find(User.class, user.getUserId());
+        managed.setUserName("renamed");
+        entityManager.flush();
+        userPrincipalCache.invalidate("uid-2");
+
+        assertThat(userPrincipalCache.resolve("uid-2").userName()).isEqualTo("renamed");
+    }
+
+    @Test
+    void unknownUidIsRejectedAndNotCached() {
+        assertThatThrownBy(() -> userPrincipalCache.resolve("missing"))
+                .isInstanceOf(UnknownUserException.class);
+
+        user("missing");
+        freshStatistics();
+        assertThat(userPrincipalCache.resolve("missing").firebaseUid()).isEqualTo("missing");
+    }
+
+    @Test
+    void userBagsWithPrincipalUseOneStatement() {
+        User owner = user("uid-3");
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Bag.builder()
+                    .bagName("bag " + i)
+                    .user(owner)
+                    .status(BagStatus.OPEN)
+                    .purpose(BagPurpose.RESALE)
+                    .build());
+        }
+        UserPrincipal principal = UserPrincipal.fromUser(owner);
+        Statistics statistics = freshStatistics();
+
+        // Before the principal layer this was two: the users lookup by Firebase UID, then the bags
+        List<BagResponseDTO> bags = bagService.getUserBags(principal);
+
+        assertThat(bags).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics freshStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private User user(String firebaseUid) {
+        User user = new User();
+        user.setFirebaseUid(firebaseUid);
+        user.setEmail(firebaseUid + "@example.com");
+        user.setUserName("user " + firebaseUid);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,125 @@
+package com.growloop.growloop_backend.benchmark;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemCreateRequest;
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.repository.BagRepository;
+import com.growloop.growloop_backend.repository.ItemRepository;
+import com.growloop.growloop_backend.repository.UserRepository;
+import com.growloop.growloop_backend.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// 64 contributors adding items to one shared bag. atomicDelta is ItemService.addItemToBag
+// (UPDATE bags SET total_items = total_items + 1); readModifyWrite is the old load / addItem() / save.
+// After every iteration total_items is compared with the real item count: the atomic path must match,
+// the read-modify-write path prints how many increments it lost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BagContentionBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private ItemRepository itemRepository;
+    private BagRepository bagRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    private User contributor;
+    private UserPrincipal principal;
+    private long atomicBagId;
+    private long readModifyWriteBagId;
+    private ItemCreateRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("--spring.datasource.hikari.maximum-pool-size=64");
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bagRepository = context.getBean(BagRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        cleanUp();
+        jdbcTemplate.update("INSERT INTO users (firebase_uid, user_name, email_id, created_at, updated_at) " +
+                "VALUES ('bench-uid', 'bench-user', 'bench@growloop.local', NOW(), NOW())");
+        contributor = context.getBean(UserRepository.class).findByFirebaseUid("bench-uid").orElseThrow();
+        principal = UserPrincipal.fromUser(contributor);
+
+        // bag_id comes from bags_seq now; pick ids far above it for the fixtures
+        long base = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(bag_id), 0) + 1000000 FROM bags", Long.class);
+        atomicBagId = base;
+        readModifyWriteBagId = base + 1;
+        for (long bagId : new long[]{atomicBagId, readModifyWriteBagId}) {
+            jdbcTemplate.update("INSERT INTO bags (bag_id, bag_name, status, purpose, total_items, points_awarded, " +
+                    "delivery_charge, user_id, created_at) VALUES (?, 'bench-bag', 'OPEN', 'RESALE', 0, 0, 50, ?, NOW())",
+                    bagId, contributor.getUserId());
+        }
+
+        request = new ItemCreateRequest();
+        request.setItemType("T-shirt");
+        request.setConditionDescription("bench-item");
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkCounts() {
+        long atomicLost = lostIncrements(atomicBagId);
+        long readModifyWriteLost = lostIncrements(readModifyWriteBagId);
+        System.out.printf("%n  lost increments: atomicDelta=%d readModifyWrite=%d%n", atomicLost, readModifyWriteLost);
+        if (atomicLost != 0) {
+            throw new IllegalStateException("Atomic total_items drifted by " + atomicLost);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cleanUp();
+        context.close();
+    }
+
+    @Benchmark
+    public ItemResponseDTO atomicDelta() {
+        return itemService.addItemToBag(atomicBagId, principal, request);
+    }
+
+    @Benchmark
+    public Item readModifyWrite() {
+        return transactionTemplate.execute(status -> {
+            Bag bag = bagRepository.findById(readModifyWriteBagId).orElseThrow();
+            Item item = itemRepository.save(Item.builder()
+                    .bag(bag)
+                    .contributor(contributor)
+                    .itemType(request.getItemType())
+                    .conditionDescription(request.getConditionDescription())
+                    .build());
+            bag.addItem();
+            bagRepository.save(bag);
+            return item;
+        });
+    }
+
+    private long lostIncrements(long bagId) {
+        Long items = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items WHERE bag_id = ?", Long.class, bagId);
+        Long counted = jdbcTemplate.queryForObject("SELECT total_items FROM bags WHERE bag_id = ?", Long.class, bagId);
+        return items - counted;
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items WHERE condition_description = 'bench-item'");
+        jdbcTemplate.update("DELETE FROM bags WHERE bag_name = 'bench-bag'");
+        jdbcTemplate.update("DELETE FROM users WHERE firebase_uid = 'bench-uid'");
+    }
+}
@@ -0,0 +1,44 @@
+package com.growloop.growloop_backend.benchmark;
+
+import com.growloop.growloop_backend.GrowloopBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+// Boots the application for DB-backed benchmarks, without the web layer unless a benchmark drives it over HTTP.
+// Point it at a scratch schema: -Dspring.datasource.url=jdbc:mysql://localhost:3306/refashion_bench
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        return new SpringApplicationBuilder(GrowloopBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args(extraArgs));
+    }
+
+    // Embedded Tomcat on a random port (read it with port(context))
+    static ConfigurableApplicationContext startWeb(String... extraArgs) {
+        String[] args = args(extraArgs);
+        String[] withPort = Arrays.copyOf(args, args.length + 1);
+        withPort[args.length] = "--server.port=0";
+        return new SpringApplicationBuilder(GrowloopBackendApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(withPort);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static String[] args(String... extraArgs) {
+        String[] args = new String[extraArgs.length + 1];
+        args[0] = "--spring.jpa.show-sql=false";
+        System.arraycopy(extraArgs, 0, args, 1, extraArgs.length);
+        return args;
+    }
+}
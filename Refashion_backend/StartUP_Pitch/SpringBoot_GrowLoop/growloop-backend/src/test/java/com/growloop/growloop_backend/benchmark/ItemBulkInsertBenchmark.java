@@ -0,0 +1,89 @@
+package com.growloop.growloop_backend.benchmark;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemCreateRequest;
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Drop-off batches/second (x itemsPerBatch = items/s): one POST per item vs. the bulk endpoint's single transaction.
+// Each invocation adds itemsPerBatch "bench-" items to an open bench bag; everything is removed afterwards.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemBulkInsertBenchmark {
+
+    @Param({"10", "40"})
+    public int itemsPerBatch;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private JdbcTemplate jdbcTemplate;
+
+    private UserPrincipal contributor;
+    private Long bagId;
+    private List<ItemCreateRequest> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start();
+        itemService = context.getBean(ItemService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        cleanUp();
+        jdbcTemplate.update("INSERT INTO users (firebase_uid, user_name, email_id, created_at, updated_at) " +
+                "VALUES ('bench-uid', 'bench-user', 'bench@growloop.local', NOW(), NOW())");
+        Long userId = jdbcTemplate.queryForObject(
+                "SELECT user_id FROM users WHERE firebase_uid = 'bench-uid'", Long.class);
+        contributor = new UserPrincipal(userId, "bench-uid", "bench-user", "bench@growloop.local");
+        // bag_id comes from bags_seq now; pick one far above it for the fixture
+        bagId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(bag_id), 0) + 1000000 FROM bags", Long.class);
+        jdbcTemplate.update("INSERT INTO bags (bag_id, bag_name, status, purpose, total_items, points_awarded, " +
+                "delivery_charge, user_id, created_at) VALUES (?, 'bench-bag', 'OPEN', 'RESALE', 0, 0, 50, ?, NOW())",
+                bagId, userId);
+
+        batch = new ArrayList<>(itemsPerBatch);
+        for (int i = 0; i < itemsPerBatch; i++) {
+            ItemCreateRequest request = new ItemCreateRequest();
+            request.setItemType("T-shirt");
+            request.setConditionDescription("bench-item");
+            request.setGender(i % 2 == 0 ? "Boys" : "Girls");
+            request.setAgeGroup("3-5 years");
+            batch.add(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cleanUp();
+        context.close();
+    }
+
+    @Benchmark
+    public void singleItemRequests(Blackhole blackhole) {
+        for (ItemCreateRequest request : batch) {
+            blackhole.consume(itemService.addItemToBag(bagId, contributor, request));
+        }
+    }
+
+    @Benchmark
+    public List<ItemResponseDTO> bulkRequest() {
+        return itemService.addItemsToBag(bagId, contributor, batch);
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items WHERE condition_description = 'bench-item'");
+        jdbcTemplate.update("DELETE FROM bags WHERE bag_name = 'bench-bag'");
+        jdbcTemplate.update("DELETE FROM users WHERE firebase_uid = 'bench-uid'");
+    }
+}
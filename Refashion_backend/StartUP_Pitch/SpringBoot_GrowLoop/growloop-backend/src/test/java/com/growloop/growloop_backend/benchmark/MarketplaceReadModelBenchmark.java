@@ -0,0 +1,121 @@
+package com.growloop.growloop_backend.benchmark;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.repository.ItemRepository;
+import com.growloop.growloop_backend.service.MarketplaceReadModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Marketplace page of 20, unfiltered and filtered by gender + age group:
+// JPA keyset query + DTO mapping vs. the in-memory columnar read model.
+// Seeds "bench-" listings under one bench user and bag and removes them afterwards.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarketplaceReadModelBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String[] ITEM_TYPES = {"T-shirt", "Jeans", "Kids Jacket", "Frock", "Shorts", "Sweater"};
+    private static final String[] GENDERS = {"Boys", "Girls", "Unisex"};
+    private static final String[] AGE_GROUPS = {"0-2 years", "3-5 years", "6-8 years", "9-12 years"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int listingCount;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private MarketplaceReadModel readModel;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        readModel = context.getBean(MarketplaceReadModel.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        cleanUp();
+        seedListings(new Random(42));
+        readModel.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cleanUp();
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemResponseDTO> jpaFirstPage() {
+        return itemRepository.findListingFirstPage(null, null, null, PageRequest.of(0, PAGE_SIZE)).stream()
+                .map(ItemResponseDTO::fromItem)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemResponseDTO> readModelFirstPage() {
+        return readModel.page(null, null, PAGE_SIZE, null, null, null);
+    }
+
+    @Benchmark
+    public List<ItemResponseDTO> jpaFilteredPage() {
+        return itemRepository.findListingFirstPage(null, "Girls", "9-12 years", PageRequest.of(0, PAGE_SIZE)).stream()
+                .map(ItemResponseDTO::fromItem)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemResponseDTO> readModelFilteredPage() {
+        return readModel.page(null, null, PAGE_SIZE, null, "Girls", "9-12 years");
+    }
+
+    private void seedListings(Random random) {
+        jdbcTemplate.update("INSERT INTO users (firebase_uid, user_name, email_id, created_at, updated_at) " +
+                "VALUES ('bench-uid', 'bench-user', 'bench@growloop.local', NOW(), NOW())");
+        Long userId = jdbcTemplate.queryForObject(
+                "SELECT user_id FROM users WHERE firebase_uid = 'bench-uid'", Long.class);
+        // Bag and item ids come from sequences; fixtures take ids far above them
+        Long bagId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(bag_id), 0) + 1000000 FROM bags", Long.class);
+        jdbcTemplate.update("INSERT INTO bags (bag_id, bag_name, status, purpose, total_items, points_awarded, " +
+                "delivery_charge, user_id, created_at) VALUES (?, 'bench-bag', 'CLOSED', 'RESALE', 0, 0, 50, ?, NOW())",
+                bagId, userId);
+        Long firstItemId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(item_id), 0) + 1000000 FROM items", Long.class);
+
+        String sql = "INSERT INTO items (item_id, bag_id, contributor_id, item_type, condition_description, gender, " +
+                "age_group, grade, status, loyalty_point, added_at) " +
+                "VALUES (?, ?, ?, ?, 'bench-listing', ?, ?, 'A', 'APPROVED', 25.00, NOW(6) - INTERVAL ? SECOND)";
+        List<Object[]> batch = new ArrayList<>(5000);
+        for (int i = 0; i < listingCount; i++) {
+            batch.add(new Object[]{firstItemId + i, bagId, userId,
+                    ITEM_TYPES[random.nextInt(ITEM_TYPES.length)],
+                    GENDERS[random.nextInt(GENDERS.length)],
+                    AGE_GROUPS[random.nextInt(AGE_GROUPS.length)],
+                    i});
+            if (batch.size() == 5000) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("ANALYZE TABLE items");
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items WHERE condition_description = 'bench-listing'");
+        jdbcTemplate.update("DELETE FROM bags WHERE bag_name = 'bench-bag'");
+        jdbcTemplate.update("DELETE FROM users WHERE firebase_uid = 'bench-uid'");
+    }
+}
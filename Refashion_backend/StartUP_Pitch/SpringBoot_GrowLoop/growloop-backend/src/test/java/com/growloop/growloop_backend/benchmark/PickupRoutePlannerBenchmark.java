@@ -0,0 +1,52 @@
+package com.growloop.growloop_backend.benchmark;
+
+import com.growloop.growloop_backend.authentication.Dto.PickupRouteDTO;
+import com.growloop.growloop_backend.authentication.Dto.PickupStop;
+import com.growloop.growloop_backend.service.PickupRoutePlanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Route planning for a metro-sized area (~55 x 55 km) at growing bag counts, single vs. all cores
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickupRoutePlannerBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int bagCount;
+
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private List<PickupStop> stops;
+    private PickupRoutePlanner planner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        stops = new ArrayList<>(bagCount);
+        for (long i = 0; i < bagCount; i++) {
+            stops.add(new PickupStop(i, i, 12.75 + random.nextDouble() * 0.5,
+                    77.35 + random.nextDouble() * 0.5, 1 + random.nextInt(10)));
+        }
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        planner = new PickupRoutePlanner(25, threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        planner.close();
+    }
+
+    @Benchmark
+    public List<PickupRouteDTO> plan() {
+        return planner.plan(stops);
+    }
+}
@@ -0,0 +1,97 @@
+package com.growloop.growloop_backend.benchmark;
+
+import com.growloop.growloop_backend.entity.Recycler;
+import com.growloop.growloop_backend.repository.RecyclerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Full-table Haversine scan vs. SPATIAL index + bounding box for /api/recyclers/nearby.
+// Seeds "bench-" recyclers spread over India and removes them afterwards.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecyclerNearbyQueryBenchmark {
+
+    private static final double RADIUS_KM = 10.0;
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int recyclerCount;
+
+    private ConfigurableApplicationContext context;
+    private RecyclerRepository recyclerRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    private final double[][] queryPoints = new double[QUERY_POINTS][];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start();
+        recyclerRepository = context.getBean(RecyclerRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Random random = new Random(42);
+        seedRecyclers(random);
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queryPoints[i] = randomPoint(random);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM recyclers WHERE name LIKE 'bench-%'");
+        context.close();
+    }
+
+    @Benchmark
+    public List<Recycler> fullScanHaversine() {
+        double[] point = nextPoint();
+        return recyclerRepository.findNearbyRecyclers(point[0], point[1], RADIUS_KM);
+    }
+
+    @Benchmark
+    public List<Recycler> spatialIndexBoundingBox() {
+        double[] point = nextPoint();
+        return recyclerRepository.findNearbyRecyclersIndexed(point[0], point[1], RADIUS_KM);
+    }
+
+    private double[] nextPoint() {
+        next = (next + 1) % QUERY_POINTS;
+        return queryPoints[next];
+    }
+
+    private void seedRecyclers(Random random) {
+        jdbcTemplate.update("DELETE FROM recyclers WHERE name LIKE 'bench-%'");
+        String sql = "INSERT INTO recyclers (name, address, latitude, longitude, location, rating, is_verified, created_at, updated_at) " +
+                "VALUES (?, 'benchmark', ?, ?, POINT(?, ?), 0, false, NOW(), NOW())";
+
+        List<Object[]> batch = new ArrayList<>(5000);
+        for (int i = 0; i < recyclerCount; i++) {
+            double[] point = randomPoint(random);
+            batch.add(new Object[]{"bench-" + i, point[0], point[1], point[1], point[0]});
+            if (batch.size() == 5000) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("ANALYZE TABLE recyclers");
+    }
+
+    // Roughly the bounding box of India
+    private static double[] randomPoint(Random random) {
+        return new double[]{8.0 + random.nextDouble() * 22.0, 70.0 + random.nextDouble() * 18.0};
+    }
+}
@@ -0,0 +1,59 @@
+package com.growloop.growloop_backend.benchmark;
+
+import com.growloop.growloop_backend.authentication.SessionToken;
+import com.growloop.growloop_backend.authentication.SessionTokenCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Cost of issuing and verifying a session token: verifySignature runs the HMAC every time (cache off),
+// verifyCached is a hot client hitting the verified-token cache, verifyForged is a token with a bad signature.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionTokenBenchmark {
+
+    private SessionTokenCodec uncached;
+    private SessionTokenCodec cached;
+    private String token;
+    private String forged;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        uncached = new SessionTokenCodec(secret, Duration.ofHours(24), 0);
+        cached = new SessionTokenCodec(secret, Duration.ofHours(24), 10_000);
+        token = uncached.issue(1_234_567L, "firebase-uid-0123456789abcdefghij");
+        // Flip the first signature character; the last one also carries unused padding bits
+        int signatureStart = token.indexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        forged = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public String issue() {
+        return uncached.issue(1_234_567L, "firebase-uid-0123456789abcdefghij");
+    }
+
+    @Benchmark
+    public SessionToken verifySignature() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public SessionToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public SessionToken verifyForged() {
+        return uncached.verify(forged);
+    }
+}
@@ -0,0 +1,87 @@
+package com.growloop.growloop_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// 400 concurrent HTTP clients against the app served two ways: Tomcat's platform worker pool (200 threads by
+// default) and virtual threads, with the pool settings of application-virtual.properties in both runs. Each
+// request looks like an item submission waiting on the detection service: a blocking downstream call
+// (a sleep of downstreamMs) followed by a JDBC read through Hikari. Platform mode should level off near
+// 200 / latency requests per second; virtual mode should keep scaling with clients until the connection pool
+// or MySQL is the limit. The fork traces pinned virtual threads, so pinning in the JDBC path shows up in the output.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(400)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class VirtualThreadServingBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"50"})
+    public long downstreamMs;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startWeb(
+                "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                "--spring.datasource.hikari.maximum-pool-size=30",
+                "--spring.datasource.hikari.connection-timeout=5000",
+                "--growloop.bench.downstream-ms=" + downstreamMs);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + BenchmarkContexts.port(context) + "/bench/downstream")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int blockingRequest() throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    // Benchmark-only endpoint. Component scanning sees test classes too, so it only exists when this benchmark
+    // sets its property.
+    @RestController
+    @ConditionalOnProperty(name = "growloop.bench.downstream-ms")
+    public static class DownstreamController {
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Value("${growloop.bench.downstream-ms}")
+        private long downstreamMs;
+
+        @GetMapping("/bench/downstream")
+        public Long handle() throws InterruptedException {
+            Thread.sleep(downstreamMs);
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bags WHERE status = 'OPEN'", Long.class);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.growloop.growloop_backend.repository;
+
+import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.enumHelpers.items.ItemGrade;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every list endpoint maps entities to DTOs; the statement count must not grow with the list size
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class ListQueryStatementCountTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BagRepository bagRepository;
+
+    private int sequence;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void bagItemsUseOneStatement(int size) {
+        Bag bag = bag(user());
+        for (int i = 0; i < size; i++) {
+            item(bag, user(), ItemGrade.PENDING, ItemStatus.PENDING_QC);
+        }
+        Statistics statistics = freshStatistics();
+
+        List<ItemResponseDTO> items = itemRepository.findByBagWithDetails(bag).stream()
+                .map(ItemResponseDTO::fromItem)
+                .toList();
+
+        assertThat(items).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void userItemsUseOneStatement(int size) {
+        User contributor = user();
+        for (int i = 0; i < size; i++) {
+            item(bag(user()), contributor, ItemGrade.PENDING, ItemStatus.PENDING_QC);
+        }
+        Statistics statistics = freshStatistics();
+
+        List<ItemResponseDTO> items = itemRepository.findAllByContributorWithDetails(contributor).stream()
+                .map(ItemResponseDTO::fromItem)
+                .toList();
+
+        assertThat(items).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void marketplaceUsesOneStatement(int size) {
+        for (int i = 0; i < size; i++) {
+            item(bag(user()), user(), ItemGrade.A, ItemStatus.APPROVED);
+        }
+        Statistics statistics = freshStatistics();
+
+        List<ItemResponseDTO> all = itemRepository.findItemsReadyForListingWithDetails().stream()
+                .map(ItemResponseDTO::fromItem)
+                .toList();
+        assertThat(all).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        List<ItemResponseDTO> page = itemRepository.findListingFirstPage(null, null, null, PageRequest.of(0, 50)).stream()
+                .map(ItemResponseDTO::fromItem)
+                .toList();
+        assertThat(page).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void userBagsUseOneStatement(int size) {
+        User owner = user();
+        for (int i = 0; i < size; i++) {
+            bag(owner);
+        }
+        Statistics statistics = freshStatistics();
+
+        List<BagResponseDTO> bags = bagRepository.findByUserWithOwner(owner).stream()
+                .map(BagResponseDTO::fromBag)
+                .toList();
+
+        assertThat(bags).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void userBagsPageUsesOneStatement(int size) {
+        User owner = user();
+        for (int i = 0; i < size; i++) {
+            bag(owner);
+        }
+        Statistics statistics = freshStatistics();
+
+        // The caller's name comes from the principal, so the owner proxy is never initialized
+        List<BagResponseDTO> bags = bagRepository.findPageByUser(owner.getUserId(), PageRequest.of(0, 50)).stream()
+                .map(bag -> BagResponseDTO.fromBag(bag, owner.getUserName(), 0, 0))
+                .toList();
+
+        assertThat(bags).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // Flush fixtures and detach them so nothing is served from the persistence context
+    private Statistics freshStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private User user() {
+        int n = ++sequence;
+        User user = new User();
+        user.setFirebaseUid("uid-" + n);
+        user.setEmail("user" + n + "@example.com");
+        user.setUserName("user " + n);
+        return entityManager.persist(user);
+    }
+
+    private Bag bag(User owner) {
+        return entityManager.persist(Bag.builder()
+                .bagName("bag " + (++sequence))
+                .user(owner)
+                .status(BagStatus.OPEN)
+                .purpose(BagPurpose.RESALE)
+                .build());
+    }
+
+    private Item item(Bag bag, User contributor, ItemGrade grade, ItemStatus status) {
+        return entityManager.persist(Item.builder()
+                .bag(bag)
+                .contributor(contributor)
+                .itemType("T-shirt")
+                .grade(grade)
+                .status(status)
+                .loyaltyPoint(BigDecimal.TEN)
+                .build());
+    }
+}
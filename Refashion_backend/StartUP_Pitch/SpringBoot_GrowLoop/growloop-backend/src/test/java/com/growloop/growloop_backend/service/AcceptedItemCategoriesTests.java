@@ -0,0 +1,40 @@
+package com.growloop.growloop_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptedItemCategoriesTests {
+
+    @Test
+    void categoriesPastTheMaskAreMatchedByName() {
+        AcceptedItemCategories categories = new AcceptedItemCategories();
+        for (int i = 0; i < Long.SIZE; i++) {
+            categories.maskOf("category-" + i);
+        }
+
+        String accepted = "Category-0, Leather";
+        long mask = categories.maskOf(accepted);
+        Set<String> unmasked = categories.unmaskedOf(accepted);
+
+        assertThat(categories.overflowSize()).isEqualTo(1);
+        assertThat(unmasked).containsExactly("leather");
+
+        AcceptedItemCategories.Required required = categories.required(List.of("category-0", "LEATHER"));
+        assertThat(required).isNotNull();
+        assertThat(mask & required.mask()).isEqualTo(required.mask());
+        assertThat(unmasked).containsAll(required.unmasked());
+    }
+
+    @Test
+    void unknownCategoryMatchesNobody() {
+        AcceptedItemCategories categories = new AcceptedItemCategories();
+        categories.maskOf("denim");
+
+        assertThat(categories.required(List.of("denim", "silk"))).isNull();
+        assertThat(categories.required(List.of("denim")).unmasked()).isEmpty();
+    }
+}
@@ -0,0 +1,94 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.BagSummaryDTO;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(BagService.class)
+class BagSummaryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BagService bagService;
+
+    @MockitoBean
+    private BagCounterBuffer bagCounterBuffer;
+
+    @MockitoBean
+    private ShareLinkRegistry shareLinkRegistry;
+
+    @MockitoBean
+    private FreePickupEligibilityTracker freePickupEligibilityTracker;
+
+    @MockitoBean
+    private OutboxService outboxService;
+
+    @Test
+    void summaryGroupsBagsByStatusAndPurpose() {
+        User owner = user("uid-summary");
+        bag(owner, BagStatus.OPEN, BagPurpose.RESALE, 3, 0);
+        bag(owner, BagStatus.OPEN, BagPurpose.RESALE, 2, 0);
+        bag(owner, BagStatus.OPEN, BagPurpose.DONATION, 4, 0);
+        bag(owner, BagStatus.COLLECTED, BagPurpose.RESALE, 6, 40);
+        bag(owner, BagStatus.CLOSED, BagPurpose.DONATION, 5, 25);
+        // Another user's bag stays out of the summary
+        bag(user("uid-other"), BagStatus.OPEN, BagPurpose.RESALE, 9, 90);
+        entityManager.flush();
+
+        BagSummaryDTO summary = bagService.getUserBagSummary(UserPrincipal.fromUser(owner));
+
+        assertThat(summary.getTotal()).isEqualTo(new BagSummaryDTO.Totals(5L, 20L, 65L));
+        assertThat(summary.getByStatus()).containsOnlyKeys("OPEN", "AWAITING_PICKUP", "COLLECTED", "CLOSED");
+        assertThat(summary.getByStatus().get("OPEN")).isEqualTo(new BagSummaryDTO.Totals(3L, 9L, 0L));
+        assertThat(summary.getByStatus().get("AWAITING_PICKUP")).isEqualTo(new BagSummaryDTO.Totals(0L, 0L, 0L));
+        assertThat(summary.getByStatus().get("COLLECTED")).isEqualTo(new BagSummaryDTO.Totals(1L, 6L, 40L));
+        assertThat(summary.getByStatus().get("CLOSED")).isEqualTo(new BagSummaryDTO.Totals(1L, 5L, 25L));
+        assertThat(summary.getByPurpose().get("RESALE")).isEqualTo(new BagSummaryDTO.Totals(3L, 11L, 40L));
+        assertThat(summary.getByPurpose().get("DONATION")).isEqualTo(new BagSummaryDTO.Totals(2L, 9L, 25L));
+    }
+
+    @Test
+    void userWithoutBagsGetsZeroes() {
+        User owner = user("uid-no-bags");
+        entityManager.flush();
+
+        BagSummaryDTO summary = bagService.getUserBagSummary(UserPrincipal.fromUser(owner));
+
+        assertThat(summary.getTotal()).isEqualTo(new BagSummaryDTO.Totals(0L, 0L, 0L));
+        assertThat(summary.getByStatus().values()).allMatch(totals -> totals.getBags() == 0);
+        assertThat(summary.getByPurpose()).containsOnlyKeys("RESALE", "DONATION");
+    }
+
+    private User user(String firebaseUid) {
+        User user = new User();
+        user.setFirebaseUid(firebaseUid);
+        user.setEmail(firebaseUid + "@example.com");
+        user.setUserName("user " + firebaseUid);
+        return entityManager.persist(user);
+    }
+
+    private void bag(User owner, BagStatus status, BagPurpose purpose, int items, int points) {
+        entityManager.persist(Bag.builder()
+                .bagName("bag")
+                .user(owner)
+                .status(status)
+                .purpose(purpose)
+                .totalItems(items)
+                .pointsAwarded(points)
+                .build());
+    }
+}
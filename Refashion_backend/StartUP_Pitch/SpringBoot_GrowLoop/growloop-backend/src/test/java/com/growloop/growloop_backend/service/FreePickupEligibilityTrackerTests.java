@@ -0,0 +1,108 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.event.BagChangedEvent;
+import com.growloop.growloop_backend.event.FreePickupEligibilityChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({FreePickupEligibilityTracker.class, SimpleMeterRegistry.class})
+@RecordApplicationEvents
+class FreePickupEligibilityTrackerTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FreePickupEligibilityTracker tracker;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    // The tracker is a singleton across tests; start each one from the (empty) table
+    @BeforeEach
+    void reset() {
+        tracker.reload();
+        events.clear();
+    }
+
+    @Test
+    void crossingTheThresholdIsReportedOnce() {
+        tracker.onBagChanged(new BagChangedEvent(1L, 10L, BagStatus.OPEN, 0, 0));
+        tracker.onBagChanged(new BagChangedEvent(1L, 10L, BagStatus.OPEN, 4, 0));
+        assertThat(events.stream(FreePickupEligibilityChangedEvent.class)).isEmpty();
+
+        tracker.onBagChanged(new BagChangedEvent(1L, 10L, BagStatus.OPEN, 1, 0));
+        tracker.onBagChanged(new BagChangedEvent(1L, 10L, BagStatus.OPEN, 3, 0));
+
+        assertThat(events.stream(FreePickupEligibilityChangedEvent.class))
+                .containsExactly(new FreePickupEligibilityChangedEvent(1L, 10L, 5, true));
+        assertThat(tracker.eligibleBagIds()).containsExactly(1L);
+    }
+
+    @Test
+    void leavingOpenDropsEligibility() {
+        tracker.onBagChanged(new BagChangedEvent(2L, 10L, BagStatus.OPEN, 6, 0));
+        tracker.onBagChanged(new BagChangedEvent(2L, 10L, BagStatus.AWAITING_PICKUP, 0, 0));
+
+        assertThat(events.stream(FreePickupEligibilityChangedEvent.class)).containsExactly(
+                new FreePickupEligibilityChangedEvent(2L, 10L, 6, true),
+                new FreePickupEligibilityChangedEvent(2L, 10L, 6, false));
+        assertThat(tracker.eligibleBagIds()).isEmpty();
+    }
+
+    @Test
+    void reloadMatchesTheTableScan() {
+        User owner = new User();
+        owner.setFirebaseUid("uid-owner");
+        owner.setEmail("owner@example.com");
+        owner.setUserName("owner");
+        entityManager.persist(owner);
+        Bag full = bag(owner, BagStatus.OPEN, 7);
+        bag(owner, BagStatus.OPEN, 2);
+        bag(owner, BagStatus.AWAITING_PICKUP, 9);
+        entityManager.flush();
+
+        tracker.reload();
+
+        assertThat(tracker.eligibleBagIds()).containsExactly(full.getBagId());
+        assertThat(events.stream(FreePickupEligibilityChangedEvent.class))
+                .containsExactly(new FreePickupEligibilityChangedEvent(full.getBagId(), owner.getUserId(), 7, true));
+    }
+
+    private Bag bag(User owner, BagStatus status, int items) {
+        Bag bag = entityManager.persist(Bag.builder()
+                .bagName("bag")
+                .user(owner)
+                .status(status)
+                .totalItems(items)
+                .purpose(BagPurpose.RESALE)
+                .build());
+        for (int i = 0; i < items; i++) {
+            item(bag, owner);
+        }
+        return bag;
+    }
+
+    private Item item(Bag bag, User contributor) {
+        return entityManager.persist(Item.builder()
+                .bag(bag)
+                .contributor(contributor)
+                .itemType("T-shirt")
+                .build());
+    }
+}
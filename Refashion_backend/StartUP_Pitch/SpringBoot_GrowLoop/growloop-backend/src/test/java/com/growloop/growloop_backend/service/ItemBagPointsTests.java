@@ -0,0 +1,47 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemBagPointsTests {
+
+    @Test
+    void fractionsAreDroppedPerItemNotPerBag() {
+        List<BigDecimal> points = List.of(new BigDecimal("0.5"), new BigDecimal("0.5"),
+                new BigDecimal("12.5"), new BigDecimal("3.7"));
+
+        int bagPoints = points.stream().mapToInt(ItemService::wholePoints).sum();
+
+        // The old truncated SUM gave 17
+        assertThat(bagPoints).isEqualTo(15);
+    }
+
+    @Test
+    void bagPointsMatchWhatApprovedContributorsAreCredited() {
+        List<Item> items = List.of(approved("0.5"), approved("0.5"), approved("12.5"), approved("3.7"));
+
+        int bagPoints = items.stream().mapToInt(item -> ItemService.wholePoints(item.getLoyaltyPoint())).sum();
+        int credited = items.stream().mapToInt(PointsLedgerService::earnedPoints).sum();
+
+        assertThat(bagPoints).isEqualTo(credited);
+    }
+
+    @Test
+    void missingPointsCountAsZero() {
+        assertThat(ItemService.wholePoints(null)).isZero();
+    }
+
+    private static Item approved(String points) {
+        return Item.builder()
+                .itemType("Shirt")
+                .status(ItemStatus.APPROVED)
+                .loyaltyPoint(new BigDecimal(points))
+                .build();
+    }
+}
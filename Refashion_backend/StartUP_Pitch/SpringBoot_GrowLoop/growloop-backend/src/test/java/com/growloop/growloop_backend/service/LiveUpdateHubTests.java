@@ -0,0 +1,198 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.LiveUpdateDTO;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.event.DomainEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "growloop.live.replay-size=2"
+})
+@Import({LiveUpdateHubTests.HubConfig.class, BagCounterBuffer.class, SimpleMeterRegistry.class,
+        JacksonAutoConfiguration.class})
+class LiveUpdateHubTests {
+
+    private static final AtomicLong eventIds = new AtomicLong();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    @Test
+    void ownerGetsBagCountersAndContributorGetsTheItem() throws InterruptedException {
+        User owner = user("uid-live-owner");
+        User contributor = user("uid-live-contributor");
+        Bag bag = bag(owner, 4);
+        RecordingEmitter ownerStream = (RecordingEmitter) liveUpdateHub.subscribe(owner.getUserId(), null);
+        RecordingEmitter contributorStream = (RecordingEmitter) liveUpdateHub.subscribe(contributor.getUserId(), null);
+
+        liveUpdateHub.deliverAll(List.of(itemEvent(contributor, bag, 31L)));
+
+        Received toOwner = ownerStream.next();
+        assertThat(toOwner.update().getItem()).isNull();
+        assertThat(toOwner.update().getBag().getBagId()).isEqualTo(bag.getBagId());
+        assertThat(toOwner.update().getBag().getTotalItems()).isEqualTo(4);
+        Received toContributor = contributorStream.next();
+        assertThat(toContributor.update().getBag()).isNull();
+        assertThat(toContributor.update().getItem().getItemId()).isEqualTo(31L);
+
+        // An owner adding to their own bag gets one update with both
+        liveUpdateHub.deliverAll(List.of(itemEvent(owner, bag, 32L)));
+        Received own = ownerStream.next();
+        assertThat(own.update().getItem().getItemId()).isEqualTo(32L);
+        assertThat(own.update().getBag().getBagId()).isEqualTo(bag.getBagId());
+        assertThat(contributorStream.nextOrNull()).isNull();
+    }
+
+    @Test
+    void reconnectReplaysWhatWasMissed() throws InterruptedException {
+        User contributor = user("uid-live-reconnect");
+        RecordingEmitter first = (RecordingEmitter) liveUpdateHub.subscribe(contributor.getUserId(), null);
+        liveUpdateHub.deliverAll(List.of(itemEvent(contributor, null, 41L)));
+        String lastSeen = first.next().id();
+
+        // Two more while the client is away; both still fit the replay buffer
+        liveUpdateHub.deliverAll(List.of(itemEvent(contributor, null, 42L), itemEvent(contributor, null, 43L)));
+        RecordingEmitter second = (RecordingEmitter) liveUpdateHub.subscribe(contributor.getUserId(), lastSeen);
+
+        assertThat(second.next().update().getItem().getItemId()).isEqualTo(42L);
+        assertThat(second.next().update().getItem().getItemId()).isEqualTo(43L);
+        assertThat(second.nextOrNull()).isNull();
+    }
+
+    @Test
+    void reconnectPastTheBufferOrFromAnotherProcessResyncs() throws InterruptedException {
+        User contributor = user("uid-live-resync");
+        RecordingEmitter first = (RecordingEmitter) liveUpdateHub.subscribe(contributor.getUserId(), null);
+        liveUpdateHub.deliverAll(List.of(itemEvent(contributor, null, 51L)));
+        String lastSeen = first.next().id();
+
+        // Three more than replay-size (2) can hold, so the one after lastSeen is gone
+        liveUpdateHub.deliverAll(List.of(itemEvent(contributor, null, 52L), itemEvent(contributor, null, 53L),
+                itemEvent(contributor, null, 54L)));
+        RecordingEmitter expired = (RecordingEmitter) liveUpdateHub.subscribe(contributor.getUserId(), lastSeen);
+        assertThat(expired.next().name()).isEqualTo(LiveUpdateHub.RESYNC_EVENT);
+        assertThat(expired.nextOrNull()).isNull();
+
+        String otherEpoch = "zz" + lastSeen.substring(lastSeen.indexOf('-'));
+        RecordingEmitter foreign = (RecordingEmitter) liveUpdateHub.subscribe(contributor.getUserId(), otherEpoch);
+        assertThat(foreign.next().name()).isEqualTo(LiveUpdateHub.RESYNC_EVENT);
+    }
+
+    private DomainEvent itemEvent(User contributor, Bag bag, long itemId) {
+        ItemResponseDTO item = new ItemResponseDTO();
+        item.setItemId(itemId);
+        item.setBagId(bag != null ? bag.getBagId() : null);
+        item.setContributorId(contributor.getUserId());
+        item.setGrade("A");
+        item.setStatus("APPROVED");
+        item.setLoyaltyPoint(BigDecimal.TEN);
+        return new DomainEvent(eventIds.incrementAndGet(), DomainEventType.ITEM_GRADED, itemId, item,
+                LocalDateTime.now());
+    }
+
+    private User user(String firebaseUid) {
+        User user = new User();
+        user.setFirebaseUid(firebaseUid);
+        user.setEmail(firebaseUid + "@example.com");
+        user.setUserName("user " + firebaseUid);
+        return entityManager.persist(user);
+    }
+
+    private Bag bag(User owner, int items) {
+        Bag bag = entityManager.persist(Bag.builder()
+                .bagName("live bag")
+                .user(owner)
+                .status(BagStatus.OPEN)
+                .purpose(BagPurpose.RESALE)
+                .totalItems(items)
+                .build());
+        entityManager.flush();
+        return bag;
+    }
+
+    record Received(String id, String name, LiveUpdateDTO update) {
+    }
+
+    // Keeps the events the hub sends instead of writing them to a response
+    static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<Received> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            LiveUpdateDTO update = null;
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof LiveUpdateDTO dto) {
+                    update = dto;
+                } else {
+                    text.append(part.getData());
+                }
+            }
+            // Heartbeat comments (":keepalive") come from the scheduler whenever it runs
+            if (!text.toString().startsWith(":")) {
+                received.add(new Received(field(text, "id:"), field(text, "event:"), update));
+            }
+        }
+
+        Received next() throws InterruptedException {
+            Received next = received.poll(5, TimeUnit.SECONDS);
+            assertThat(next).as("event sent to the stream").isNotNull();
+            return next;
+        }
+
+        Received nextOrNull() throws InterruptedException {
+            return received.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        private static String field(StringBuilder text, String prefix) {
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith(prefix)) {
+                    return line.substring(prefix.length());
+                }
+            }
+            return null;
+        }
+    }
+
+    @TestConfiguration
+    static class HubConfig {
+        @Bean
+        LiveUpdateHub liveUpdateHub() {
+            return new LiveUpdateHub() {
+                @Override
+                SseEmitter newEmitter() {
+                    return new RecordingEmitter();
+                }
+            };
+        }
+    }
+}
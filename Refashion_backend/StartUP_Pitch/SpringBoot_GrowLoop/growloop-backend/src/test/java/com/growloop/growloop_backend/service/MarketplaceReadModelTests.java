@@ -0,0 +1,81 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.UserResponseDTO;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.enumHelpers.items.ItemGrade;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.event.DomainEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({MarketplaceReadModel.class, SimpleMeterRegistry.class})
+class MarketplaceReadModelTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MarketplaceReadModel readModel;
+
+    @Test
+    void contributorRenameRewritesTheirListings() {
+        User contributor = user("uid-renamed");
+        User other = user("uid-other");
+        Bag bag = entityManager.persist(Bag.builder()
+                .bagName("bag")
+                .user(contributor)
+                .status(BagStatus.OPEN)
+                .purpose(BagPurpose.RESALE)
+                .build());
+        listedItem(bag, contributor);
+        listedItem(bag, other);
+        entityManager.flush();
+        readModel.rebuild();
+
+        readModel.onOutboxEvents(List.of(renamed(contributor, "new name")));
+        readModel.mergePending();
+
+        assertThat(readModel.all()).extracting(ItemResponseDTO::getContributorName)
+                .containsExactlyInAnyOrder("new name", "user uid-other");
+    }
+
+    private DomainEvent renamed(User user, String name) {
+        UserResponseDTO dto = UserResponseDTO.fromUser(user);
+        dto.setUserName(name);
+        return new DomainEvent(1, DomainEventType.USER_RENAMED, user.getUserId(), dto, LocalDateTime.now());
+    }
+
+    private User user(String firebaseUid) {
+        User user = new User();
+        user.setFirebaseUid(firebaseUid);
+        user.setEmail(firebaseUid + "@example.com");
+        user.setUserName("user " + firebaseUid);
+        return entityManager.persist(user);
+    }
+
+    private void listedItem(Bag bag, User contributor) {
+        entityManager.persist(Item.builder()
+                .bag(bag)
+                .contributor(contributor)
+                .itemType("T-shirt")
+                .grade(ItemGrade.A)
+                .status(ItemStatus.APPROVED)
+                .build());
+    }
+}
@@ -0,0 +1,153 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.entity.OutboxEvent;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.enumHelpers.OutboxStatus;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.OutboxSubscriber;
+import com.growloop.growloop_backend.repository.JobLeaseRepository;
+import com.growloop.growloop_backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "growloop.outbox.max-attempts=2",
+        // Batches are published by the tests, not the scheduler
+        "growloop.outbox.publisher.enabled=false"
+})
+@Import({OutboxPublisher.class, JacksonAutoConfiguration.class, SimpleMeterRegistry.class,
+        OutboxPublisherTests.SubscriberConfig.class})
+class OutboxPublisherTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @BeforeEach
+    void reset() {
+        subscriber.received.clear();
+        subscriber.failing.clear();
+    }
+
+    @Test
+    void deliversInOrderAndMarksPublished() {
+        long first = event(DomainEventType.BAG_CREATED, 1, "{\"bagId\":1}");
+        long second = event(DomainEventType.BAG_PICKUP_SCHEDULED, 1, "{\"bagId\":1}");
+        long third = event(DomainEventType.ITEM_CREATED, 7, "{\"itemId\":7}");
+
+        assertThat(outboxPublisher.publishBatch()).isEqualTo(3);
+
+        assertThat(subscriber.received).containsExactly(first, second, third);
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isZero();
+        assertThat(outboxPublisher.publishBatch()).isZero();
+    }
+
+    @Test
+    void failureHoldsBackOnlyItsAggregate() {
+        long bagCreated = event(DomainEventType.BAG_CREATED, 1, "{\"bagId\":1}");
+        long bagScheduled = event(DomainEventType.BAG_PICKUP_SCHEDULED, 1, "{\"bagId\":1}");
+        long item = event(DomainEventType.ITEM_CREATED, 7, "{\"itemId\":7}");
+        subscriber.failing.add(bagCreated);
+
+        assertThat(outboxPublisher.publishBatch()).isEqualTo(1);
+        assertThat(subscriber.received).containsExactly(item);
+
+        // The failed event comes back first, followed by the one it held back
+        subscriber.failing.clear();
+        assertThat(outboxPublisher.publishBatch()).isEqualTo(2);
+        assertThat(subscriber.received).containsExactly(item, bagCreated, bagScheduled);
+    }
+
+    @Test
+    void eventIsDroppedAfterMaxAttempts() {
+        long poison = event(DomainEventType.ITEM_GRADED, 3, "{\"itemId\":3}");
+        long next = event(DomainEventType.ITEM_GRADED, 3, "{\"itemId\":3}");
+        subscriber.failing.add(poison);
+
+        outboxPublisher.publishBatch();
+        outboxPublisher.publishBatch();
+        entityManager.flush();
+        entityManager.clear();
+
+        OutboxEvent dead = outboxEventRepository.findById(poison).orElseThrow();
+        assertThat(dead.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+
+        assertThat(outboxPublisher.publishBatch()).isEqualTo(1);
+        assertThat(subscriber.received).containsExactly(next);
+    }
+
+    @Test
+    void onlyOneInstanceHoldsThePublisherLease() {
+        assertThat(outboxPublisher.holdsLease()).isTrue();
+
+        // Another instance can't take the lease while it is current, only once it has lapsed
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(jobLeaseRepository.tryAcquire(OutboxPublisher.LEASE, "other", now, now.plusSeconds(30)))
+                .isZero();
+        assertThat(jobLeaseRepository.tryAcquire(OutboxPublisher.LEASE, "other", now.plusMinutes(1),
+                now.plusMinutes(2))).isEqualTo(1);
+    }
+
+    private long event(DomainEventType type, long aggregateId, String payload) {
+        return entityManager.persistAndFlush(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .build()).getEventId();
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+        final List<Long> received = new ArrayList<>();
+        final Set<Long> failing = new HashSet<>();
+
+        @Override
+        public boolean accepts(DomainEvent event) {
+            return true;
+        }
+
+        @Override
+        public void handle(DomainEvent event) {
+            if (failing.contains(event.eventId())) {
+                throw new IllegalStateException("subscriber down");
+            }
+            received.add(event.eventId());
+        }
+    }
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
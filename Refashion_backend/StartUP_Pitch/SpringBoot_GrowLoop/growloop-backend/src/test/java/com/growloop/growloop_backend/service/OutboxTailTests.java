@@ -0,0 +1,125 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.entity.OutboxEvent;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.event.DomainEvent;
+import com.growloop.growloop_backend.event.OutboxTailListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "growloop.outbox.tail.poll-interval-ms=3600000",
+        "growloop.outbox.tail.gap-wait-ms=100"
+})
+@Import({OutboxTail.class, JacksonAutoConfiguration.class, SimpleMeterRegistry.class,
+        OutboxTailTests.ListenerConfig.class})
+class OutboxTailTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxTail outboxTail;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @BeforeEach
+    void catchUp() {
+        outboxTail.poll();
+        listener.received.clear();
+    }
+
+    @Test
+    void deliversNewEventsInOrderWithTheirPayload() {
+        long first = event(DomainEventType.ITEM_CREATED, 7, "{\"itemId\":7,\"grade\":\"A\"}");
+        long second = event(DomainEventType.BAG_CREATED, 1, "{\"bagId\":1}");
+
+        outboxTail.poll();
+
+        assertThat(listener.received).extracting(DomainEvent::eventId).containsExactly(first, second);
+        assertThat(listener.received.get(0).payload(ItemResponseDTO.class).getGrade()).isEqualTo("A");
+        outboxTail.poll();
+        assertThat(listener.received).hasSize(2);
+    }
+
+    @Test
+    void waitsForAMissingIdThenMovesPastIt() throws InterruptedException {
+        long first = event(DomainEventType.ITEM_GRADED, 3, "{\"itemId\":3}");
+        OutboxEvent late = entityManager.find(OutboxEvent.class,
+                event(DomainEventType.ITEM_GRADED, 4, "{\"itemId\":4}"));
+        long third = event(DomainEventType.ITEM_GRADED, 5, "{\"itemId\":5}");
+        // The middle row belongs to a transaction that hasn't committed yet
+        entityManager.remove(late);
+        entityManager.flush();
+
+        outboxTail.poll();
+        assertThat(listener.received).extracting(DomainEvent::eventId).containsExactly(first);
+
+        // It commits within gap-wait-ms and is delivered in order
+        jdbcTemplate.update("INSERT INTO outbox_events (event_id, event_type, aggregate_id, payload, status, " +
+                        "attempts, created_at) VALUES (?, 'ITEM_GRADED', 4, '{\"itemId\":4}', 'PENDING', 0, ?)",
+                late.getEventId(), Timestamp.valueOf(LocalDateTime.now()));
+        outboxTail.poll();
+        assertThat(listener.received).extracting(DomainEvent::eventId)
+                .containsExactly(first, late.getEventId(), third);
+
+        // A gap that never fills (a rolled-back insert) holds the tail for gap-wait-ms only
+        OutboxEvent rolledBack = entityManager.find(OutboxEvent.class,
+                event(DomainEventType.ITEM_GRADED, 6, "{\"itemId\":6}"));
+        long after = event(DomainEventType.ITEM_GRADED, 7, "{\"itemId\":7}");
+        entityManager.remove(rolledBack);
+        entityManager.flush();
+        outboxTail.poll();
+        assertThat(listener.received).hasSize(3);
+        Thread.sleep(150);
+        outboxTail.poll();
+        assertThat(listener.received).extracting(DomainEvent::eventId).endsWith(after);
+    }
+
+    private long event(DomainEventType type, long aggregateId, String payload) {
+        return entityManager.persistAndFlush(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .build()).getEventId();
+    }
+
+    static class RecordingListener implements OutboxTailListener {
+        final List<DomainEvent> received = new ArrayList<>();
+
+        @Override
+        public void onOutboxEvents(List<DomainEvent> events) {
+            received.addAll(events);
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+}
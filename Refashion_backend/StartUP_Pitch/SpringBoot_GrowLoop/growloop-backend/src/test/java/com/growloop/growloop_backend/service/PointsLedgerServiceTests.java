@@ -0,0 +1,115 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.PointsBalanceDTO;
+import com.growloop.growloop_backend.authentication.UserPrincipal;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.entity.PointsLedgerEntry;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.PointsEntryType;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.repository.PointsBalanceSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "growloop.points.snapshot-lag-ms=0"
+})
+@Import(PointsLedgerService.class)
+class PointsLedgerServiceTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
+    @Autowired
+    private PointsBalanceSnapshotRepository snapshotRepository;
+
+    @Test
+    void itemEntriesFollowEarnedPoints() {
+        Item item = Item.builder()
+                .itemType("Jacket")
+                .status(ItemStatus.PENDING_QC)
+                .loyaltyPoint(new BigDecimal("12.5"))
+                .build();
+
+        int before = PointsLedgerService.earnedPoints(item);
+        item.setStatus(ItemStatus.APPROVED);
+        PointsLedgerEntry approved = PointsLedgerService.itemEntry(item, before);
+        assertThat(approved.getAmount()).isEqualTo(12);
+        assertThat(approved.getEntryType()).isEqualTo(PointsEntryType.ITEM_APPROVED);
+
+        // Moving on through the sale pipeline keeps the points earned
+        before = PointsLedgerService.earnedPoints(item);
+        item.setStatus(ItemStatus.LISTED);
+        assertThat(PointsLedgerService.itemEntry(item, before)).isNull();
+
+        before = PointsLedgerService.earnedPoints(item);
+        item.setStatus(ItemStatus.REJECTED);
+        PointsLedgerEntry revoked = PointsLedgerService.itemEntry(item, before);
+        assertThat(revoked.getAmount()).isEqualTo(-12);
+        assertThat(revoked.getEntryType()).isEqualTo(PointsEntryType.ITEM_REVOKED);
+    }
+
+    @Test
+    void balanceIsSnapshotPlusTail() {
+        User user = user("uid-ledger");
+        pointsLedgerService.post(List.of(credit(user, 10), credit(user, 15), credit(user, 20)));
+        entityManager.flush();
+        assertThat(pointsLedgerService.getBalance(user.getUserId()).getBalance()).isEqualTo(45);
+
+        pointsLedgerService.takeSnapshots();
+        entityManager.flush();
+        pointsLedgerService.post(List.of(credit(user, 5)));
+        entityManager.flush();
+
+        PointsBalanceDTO balance = pointsLedgerService.getBalance(user.getUserId());
+        assertThat(snapshotRepository.findTopByUserUserIdOrderByCoveredUntilDesc(user.getUserId())).isPresent();
+        assertThat(balance.getBalance()).isEqualTo(50);
+        assertThat(balance.getSnapshotCoveredUntil()).isNotNull();
+
+        // A second window builds on the first snapshot
+        pointsLedgerService.takeSnapshots();
+        entityManager.flush();
+        assertThat(pointsLedgerService.getBalance(user.getUserId()).getBalance()).isEqualTo(50);
+    }
+
+    @Test
+    void redeemNeedsEnoughPoints() {
+        User user = user("uid-redeem");
+        pointsLedgerService.post(List.of(credit(user, 30)));
+        entityManager.flush();
+        UserPrincipal principal = UserPrincipal.fromUser(user);
+
+        assertThat(pointsLedgerService.redeem(principal, 20, "Tote bag").getBalance()).isEqualTo(10);
+        assertThatThrownBy(() -> pointsLedgerService.redeem(principal, 20, "Tote bag"))
+                .hasMessageContaining("Insufficient points");
+    }
+
+    private PointsLedgerEntry credit(User user, int amount) {
+        return PointsLedgerEntry.builder()
+                .user(user)
+                .amount(amount)
+                .entryType(PointsEntryType.ITEM_APPROVED)
+                .build();
+    }
+
+    private User user(String firebaseUid) {
+        User user = new User();
+        user.setFirebaseUid(firebaseUid);
+        user.setEmail(firebaseUid + "@example.com");
+        user.setUserName("user " + firebaseUid);
+        return entityManager.persist(user);
+    }
+}
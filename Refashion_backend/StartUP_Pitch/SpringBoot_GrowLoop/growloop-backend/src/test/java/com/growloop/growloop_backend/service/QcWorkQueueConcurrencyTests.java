@@ -0,0 +1,200 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.ItemResponseDTO;
+import com.growloop.growloop_backend.authentication.Dto.ItemUpdateRequest;
+import com.growloop.growloop_backend.authentication.Dto.QcClaimDTO;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.entity.Item;
+import com.growloop.growloop_backend.entity.User;
+import com.growloop.growloop_backend.enumHelpers.BagPurpose;
+import com.growloop.growloop_backend.enumHelpers.BagStatus;
+import com.growloop.growloop_backend.enumHelpers.items.ItemGrade;
+import com.growloop.growloop_backend.enumHelpers.items.ItemStatus;
+import com.growloop.growloop_backend.repository.BagRepository;
+import com.growloop.growloop_backend.repository.ItemRepository;
+import com.growloop.growloop_backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+// Graders run on their own threads and transactions, so nothing here is rolled back automatically
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "growloop.qc.lease-duration-ms=60000"
+})
+@Import({QcWorkQueue.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QcWorkQueueConcurrencyTests {
+
+    private static final int ITEM_COUNT = 300;
+    private static final int GRADERS = 8;
+    private static final int BATCH_SIZE = 5;
+
+    @Autowired
+    private QcWorkQueue qcWorkQueue;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BagRepository bagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private ItemService itemService;
+
+    // itemId -> how many times a grader graded it
+    private final Map<Long, Integer> gradedCount = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void seedQueue() {
+        User contributor = new User();
+        contributor.setFirebaseUid("qc-contributor");
+        contributor.setEmail("qc-contributor@example.com");
+        contributor.setUserName("QC contributor");
+        contributor = userRepository.save(contributor);
+
+        Bag bag = bagRepository.save(Bag.builder()
+                .bagName("qc bag")
+                .user(contributor)
+                .status(BagStatus.COLLECTED)
+                .purpose(BagPurpose.RESALE)
+                .build());
+
+        List<Item> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(Item.builder()
+                    .bag(bag)
+                    .contributor(contributor)
+                    .itemType("T-shirt")
+                    .grade(ItemGrade.PENDING)
+                    .status(ItemStatus.PENDING_QC)
+                    .loyaltyPoint(BigDecimal.ZERO)
+                    .build());
+        }
+        itemRepository.saveAll(items);
+
+        // Stands in for ItemService.updateItem: runs inside complete()'s transaction and moves the item out of QC
+        when(itemService.updateItem(anyLong(), any(ItemUpdateRequest.class))).thenAnswer(invocation -> {
+            Long itemId = invocation.getArgument(0);
+            gradedCount.merge(itemId, 1, Integer::sum);
+            itemRepository.findById(itemId).ifPresent(item -> item.setStatus(ItemStatus.APPROVED));
+            return new ItemResponseDTO();
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM bags");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void concurrentGradersNeverGradeTheSameItemTwice() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(GRADERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> graders = new ArrayList<>();
+        for (int g = 0; g < GRADERS; g++) {
+            String workerId = "grader-" + g;
+            graders.add(pool.submit(() -> {
+                start.await();
+                return gradeUntilEmpty(workerId);
+            }));
+        }
+        start.countDown();
+
+        int total = 0;
+        for (Future<Integer> grader : graders) {
+            total += grader.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(total).isEqualTo(ITEM_COUNT);
+        assertThat(gradedCount).hasSize(ITEM_COUNT);
+        assertThat(gradedCount.values()).allMatch(count -> count == 1);
+        assertThat(itemRepository.findByStatus(ItemStatus.PENDING_QC)).isEmpty();
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedByAnotherGrader() {
+        QcClaimDTO first = qcWorkQueue.claim("slow-grader", BATCH_SIZE);
+        assertThat(first.getItems()).hasSize(BATCH_SIZE);
+        List<Long> leased = first.getItems().stream().map(ItemResponseDTO::getItemId).toList();
+
+        // Other graders do not see leased items
+        QcClaimDTO second = qcWorkQueue.claim("other-grader", BATCH_SIZE);
+        assertThat(second.getItems()).extracting(ItemResponseDTO::getItemId).doesNotContainAnyElementsOf(leased);
+
+        // Let the first lease lapse, sweep, and the items come back
+        jdbcTemplate.update("UPDATE items SET qc_lease_expires_at = DATEADD('MINUTE', -1, CURRENT_TIMESTAMP) " +
+                "WHERE qc_lease_owner = 'slow-grader'");
+        qcWorkQueue.reclaimExpiredLeases();
+
+        List<Long> reclaimed = new ArrayList<>();
+        QcClaimDTO claim;
+        while (!(claim = qcWorkQueue.claim("new-grader", BATCH_SIZE)).getItems().isEmpty()) {
+            claim.getItems().forEach(item -> reclaimed.add(item.getItemId()));
+        }
+        assertThat(reclaimed).containsAll(leased);
+
+        // The slow grader lost its lease and cannot grade the item any more
+        ItemUpdateRequest grade = approved();
+        assertThatThrownBy(() -> qcWorkQueue.complete(leased.get(0), "slow-grader", grade))
+                .hasMessageContaining("No active QC lease");
+        assertThat(gradedCount).isEmpty();
+    }
+
+    private int gradeUntilEmpty(String workerId) {
+        int graded = 0;
+        while (true) {
+            QcClaimDTO claim = qcWorkQueue.claim(workerId, BATCH_SIZE);
+            if (claim.getItems().isEmpty()) {
+                return graded;
+            }
+            for (ItemResponseDTO item : claim.getItems()) {
+                qcWorkQueue.complete(item.getItemId(), workerId, approved());
+                graded++;
+            }
+        }
+    }
+
+    private static ItemUpdateRequest approved() {
+        ItemUpdateRequest request = new ItemUpdateRequest();
+        request.setGrade(ItemGrade.A);
+        request.setStatus(ItemStatus.APPROVED);
+        request.setLoyaltyPoint(BigDecimal.TEN);
+        return request;
+    }
+}
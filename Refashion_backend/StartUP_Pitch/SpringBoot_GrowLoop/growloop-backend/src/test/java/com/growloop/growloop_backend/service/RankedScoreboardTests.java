@@ -0,0 +1,68 @@
+package com.growloop.growloop_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedScoreboardTests {
+
+    @Test
+    void ordersByScoreThenUserId() {
+        RankedScoreboard board = new RankedScoreboard();
+        board.add(3, 50);
+        board.add(1, 80);
+        board.add(2, 50);
+
+        assertThat(board.top(10)).containsExactly(
+                new RankedScoreboard.Ranked(1, 1, 80),
+                new RankedScoreboard.Ranked(2, 2, 50),
+                new RankedScoreboard.Ranked(3, 3, 50));
+        assertThat(board.rank(3)).isEqualTo(3);
+    }
+
+    @Test
+    void usersAtZeroOrBelowAreNotRanked() {
+        RankedScoreboard board = new RankedScoreboard();
+        board.add(1, 10);
+        board.add(1, -10);
+        board.add(2, -5);
+
+        assertThat(board.size()).isZero();
+        assertThat(board.rank(1)).isZero();
+        assertThat(board.score(2)).isEqualTo(-5);
+        assertThat(board.top(10)).isEmpty();
+    }
+
+    @Test
+    void matchesFullSortAfterRandomUpdates() {
+        RankedScoreboard board = new RankedScoreboard();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            long userId = random.nextInt(300);
+            long delta = random.nextInt(100) - 30;
+            board.add(userId, delta);
+            expected.merge(userId, delta, Long::sum);
+        }
+
+        List<Map.Entry<Long, Long>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.removeIf(e -> e.getValue() <= 0);
+        sorted.sort(Comparator.<Map.Entry<Long, Long>>comparingLong(Map.Entry::getValue).reversed()
+                .thenComparingLong(Map.Entry::getKey));
+
+        assertThat(board.size()).isEqualTo(sorted.size());
+        List<RankedScoreboard.Ranked> top = board.top(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            long userId = sorted.get(i).getKey();
+            assertThat(top.get(i).userId()).isEqualTo(userId);
+            assertThat(board.rank(userId)).isEqualTo(i + 1);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.entity.Bag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShareLinkBloomFilterTests {
+
+    @Test
+    void everyPutTokenIsFound() {
+        ShareLinkBloomFilter filter = new ShareLinkBloomFilter(10_000, 0.01);
+        Set<String> tokens = new HashSet<>();
+        while (tokens.size() < 10_000) {
+            tokens.add(Bag.newShareToken());
+        }
+        tokens.forEach(filter::put);
+
+        assertThat(tokens).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        ShareLinkBloomFilter filter = new ShareLinkBloomFilter(10_000, 0.01);
+        Set<String> tokens = new HashSet<>();
+        while (tokens.size() < 10_000) {
+            tokens.add(Bag.newShareToken());
+        }
+        tokens.forEach(filter::put);
+
+        int probes = 0;
+        int falsePositives = 0;
+        while (probes < 100_000) {
+            String token = Bag.newShareToken();
+            if (!tokens.contains(token)) {
+                probes++;
+                if (filter.mightContain(token)) {
+                    falsePositives++;
+                }
+            }
+        }
+
+        assertThat(falsePositives / (double) probes).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,40 @@
+package com.growloop.growloop_backend.service;
+
+import com.growloop.growloop_backend.authentication.Dto.BagResponseDTO;
+import com.growloop.growloop_backend.entity.Bag;
+import com.growloop.growloop_backend.enumHelpers.DomainEventType;
+import com.growloop.growloop_backend.event.DomainEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({ShareLinkRegistry.class, SimpleMeterRegistry.class})
+class ShareLinkRegistryTests {
+
+    @Autowired
+    private ShareLinkRegistry shareLinkRegistry;
+
+    @Test
+    void tokenIssuedOnAnotherInstanceResolvesOnceItsBagEventArrives() {
+        shareLinkRegistry.onApplicationReady();
+        BagResponseDTO bag = new BagResponseDTO();
+        bag.setBagId(5L);
+        bag.setSharableLink(Bag.newShareToken());
+
+        assertThatThrownBy(() -> shareLinkRegistry.resolve(bag.getSharableLink(), token -> bag))
+                .hasMessage("Invalid or expired share link");
+
+        shareLinkRegistry.onOutboxEvents(List.of(
+                new DomainEvent(1, DomainEventType.BAG_CREATED, bag.getBagId(), bag, LocalDateTime.now())));
+        assertThat(shareLinkRegistry.resolve(bag.getSharableLink(), token -> bag)).isSameAs(bag);
+    }
+}
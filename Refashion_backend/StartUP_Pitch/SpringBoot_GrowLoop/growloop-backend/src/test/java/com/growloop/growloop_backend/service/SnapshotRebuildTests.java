@@ -0,0 +1,102 @@
+package com.growloop.growloop_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotRebuildTests {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SnapshotRebuild<Long> rebuilds = new SnapshotRebuild<>(new NoopTransactionManager(), lock, id -> id);
+    private final List<Long> installed = new ArrayList<>();
+    private final List<Long> applied = new ArrayList<>();
+
+    @Test
+    void heldEventsAreReplayedOnlyWhenTheLoadMissedThem() {
+        // The load saw rows 3 and 7 (high-water mark 7); row 5 commits late from a pooled id block,
+        // row 9 after the load, and 0 names no row
+        boolean rebuilt = rebuilds.rebuild(
+                () -> {
+                    hold(3L, 5L, 9L, SnapshotRebuild.NO_ROW);
+                    return List.of(3L, 7L);
+                },
+                () -> 7L,
+                ids -> ids.stream().filter(Set.of(3L, 7L)::contains).collect(Collectors.toList()),
+                installed::addAll,
+                applied::add);
+
+        assertThat(rebuilt).isTrue();
+        assertThat(installed).containsExactly(3L, 7L);
+        assertThat(applied).containsExactly(5L, 9L, SnapshotRebuild.NO_ROW);
+        assertThat(hold(11L)).isFalse();
+    }
+
+    @Test
+    void overlappingRebuildIsSkipped() {
+        List<Boolean> nested = new ArrayList<>();
+        rebuilds.<List<Long>>rebuild(
+                () -> {
+                    nested.add(rebuilds.<List<Long>>rebuild(List::of, () -> 0L, ids -> ids, installed::addAll, applied::add));
+                    return List.of(1L);
+                },
+                () -> 1L, ids -> ids, installed::addAll, applied::add);
+
+        assertThat(nested).containsExactly(false);
+        assertThat(installed).containsExactly(1L);
+    }
+
+    @Test
+    void failedLoadAppliesHeldEventsToTheCurrentView() {
+        assertThatThrownBy(() -> rebuilds.<List<Long>>rebuild(
+                () -> {
+                    hold(4L);
+                    throw new IllegalStateException("database down");
+                },
+                () -> 0L, ids -> ids, installed::addAll, applied::add))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(installed).isEmpty();
+        assertThat(applied).containsExactly(4L);
+        assertThat(hold(5L)).isFalse();
+    }
+
+    // Delivers events the way the after-commit listeners do; true if all were held
+    private boolean hold(Long... events) {
+        lock.lock();
+        try {
+            boolean held = true;
+            for (Long event : events) {
+                held &= rebuilds.holdIfRebuilding(event);
+            }
+            return held;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class NoopTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}